@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.mibal.cyrillicFileRenamer.component.Application;
+import ua.mibal.cyrillicFileRenamer.component.DataPrinter;
+import ua.mibal.cyrillicFileRenamer.component.LocalFileManager;
+import ua.mibal.cyrillicFileRenamer.component.OsDetector;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Whole run of {@link Application} over generated directory of small files.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ApplicationBenchmark {
+
+    private final static String RESULTING_DIR_NAME = "renamedToLatin";
+
+    @Param({"MIXED", "LONG"})
+    private Corpus corpus;
+
+    @Param({"1000"})
+    private int files;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("cyrillic-file-renamer-benchmark");
+        for (final String name : corpus.names(files)) {
+            Files.writeString(directory.resolve(name), name);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearResultingDirectory() throws IOException {
+        delete(directory.resolve(RESULTING_DIR_NAME));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDirectory() throws IOException {
+        delete(directory);
+    }
+
+    @Benchmark
+    public void start() {
+        new Application(
+            new SilentDataPrinter(),
+            new LocalFileManager(OsDetector.detect()),
+            directory.toString(),
+            LetterStandard.EXTENDED.getLetterTranslator()
+        ).start();
+    }
+
+    private static void delete(final Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (final Stream<Path> paths = Files.walk(path)) {
+            for (final Path file : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static final class SilentDataPrinter implements DataPrinter {
+
+        @Override
+        public void printInfoMessage(final String message) {
+        }
+
+        @Override
+        public void printErrorMessage(final String message) {
+        }
+
+        @Override
+        public void printWelcomeMessage() {
+        }
+
+        @Override
+        public void outInfo(final int dirFilesLength, final Map<String, Exception> logList) {
+        }
+
+        @Override
+        public void exit() {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.mibal.cyrillicFileRenamer.component.ChannelCopier;
+import static java.nio.file.StandardOpenOption.APPEND;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copy of one file by {@link Files#copy} and by {@link ChannelCopier} with chunks or buffer only.
+ * Run with directory on storage to tune by '-jvmArgs -Djava.io.tmpdir=...'.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CopyBenchmark {
+
+    @Param({"1048576", "268435456"})
+    private int size;
+
+    @Param({"8388608"})
+    private int chunkSize;
+
+    @Param({"262144"})
+    private int bufferSize;
+
+    private Path directory;
+
+    private Path source;
+
+    private Path target;
+
+    private ChannelCopier chunkCopier;
+
+    private ChannelCopier bufferCopier;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        directory = Files.createTempDirectory("cyrillic-file-renamer-benchmark");
+        source = directory.resolve("source.bin");
+        target = directory.resolve("target.bin");
+        final byte[] block = new byte[1 << 20];
+        new Random(size).nextBytes(block);
+        Files.write(source, new byte[0]);
+        for (int written = 0; written < size; written += block.length) {
+            Files.write(source, Arrays.copyOf(block, Math.min(block.length, size - written)), APPEND);
+        }
+        chunkCopier = new ChannelCopier(chunkSize, bufferSize, (file, bytes, nanos) -> {
+        });
+        bufferCopier = new ChannelCopier(0, bufferSize, (file, bytes, nanos) -> {
+        });
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteTarget() throws IOException {
+        Files.deleteIfExists(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDirectory() throws IOException {
+        Files.deleteIfExists(target);
+        Files.delete(source);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void filesCopy() throws IOException {
+        Files.copy(source, target);
+    }
+
+    @Benchmark
+    public long chunks() throws IOException {
+        return chunkCopier.copy(source, target);
+    }
+
+    @Benchmark
+    public long buffer() throws IOException {
+        return bufferCopier.copy(source, target);
+    }
+}
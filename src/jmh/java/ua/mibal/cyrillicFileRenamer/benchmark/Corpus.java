@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic sets of file names for benchmarks.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public enum Corpus {
+
+    // "Фото_001.jpg"
+    SHORT(1, 2, 0),
+
+    // "Звіт про діяльність підприємства за перший квартал ... .docx"
+    LONG(8, 16, 0),
+
+    // "IMG_20230214_photo.jpg"
+    LATIN(1, 4, 100),
+
+    // "Scan 12 Договір final-v2.pdf"
+    MIXED(2, 6, 50),
+
+    // "Юлія з Києва - Єва та Ярослав згодом.png"
+    SPECIAL(3, 8, 0);
+
+    private final static String[] UKRAINIAN_WORDS = {
+        "Фото", "Документ", "Рахунок", "Договір", "Звіт", "про", "діяльність",
+        "підприємства", "за", "перший", "квартал", "остаточна", "версія", "підписано",
+        "Сім'я", "Київ", "Львів", "Харків", "відпустка", "літо", "зима", "Щоденник"
+    };
+
+    private final static String[] SPECIAL_WORDS = {
+        "Юлія", "Києва", "Єва", "Ярослав", "згодом", "Їжак", "Йосип", "зграя",
+        "юність", "Яблуко", "моя", "твоє", "її", "Згарище", "розгін", "м'ята"
+    };
+
+    private final static String[] LATIN_WORDS = {
+        "IMG", "photo", "scan", "final", "v2", "copy", "backup", "report", "2023", "001"
+    };
+
+    private final static String[] BORDERS = {" ", "_", "-", " - ", "."};
+
+    private final static String[] EXTENSIONS = {".jpg", ".png", ".pdf", ".docx", ".mp4", ""};
+
+    private final int minWords;
+
+    private final int maxWords;
+
+    private final int latinPercent;
+
+    Corpus(final int minWords, final int maxWords, final int latinPercent) {
+        this.minWords = minWords;
+        this.maxWords = maxWords;
+        this.latinPercent = latinPercent;
+    }
+
+    public String[] names(final int count) {
+        final Random random = new Random(ordinal() * 31L + count);
+        final String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = name(random, i);
+        }
+        return names;
+    }
+
+    private String name(final Random random, final int index) {
+        final int words = minWords + random.nextInt(maxWords - minWords + 1);
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i != 0) {
+                name.append(BORDERS[random.nextInt(BORDERS.length)]);
+            }
+            name.append(word(random));
+        }
+        // Keeps names unique to be usable as file names
+        name.append('_').append(index);
+        return name.append(EXTENSIONS[random.nextInt(EXTENSIONS.length)]).toString();
+    }
+
+    private String word(final Random random) {
+        if (random.nextInt(100) < latinPercent) {
+            return LATIN_WORDS[random.nextInt(LATIN_WORDS.length)];
+        }
+        if (this == SPECIAL) {
+            return SPECIAL_WORDS[random.nextInt(SPECIAL_WORDS.length)];
+        }
+        return UKRAINIAN_WORDS[random.nextInt(UKRAINIAN_WORDS.length)];
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.mibal.cyrillicFileRenamer.component.NameFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check of one file name by rules of ignored files: {@link NameFilter} against
+ * scan of all rules with {@link String#contains} as done before the filter.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(NameFilterBenchmark.NAMES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameFilterBenchmark {
+
+    static final int NAMES = 1024;
+
+    @Param({"6", "100", "500"})
+    private int rules;
+
+    @Param({"SHORT", "MIXED"})
+    private Corpus corpus;
+
+    private String[] names;
+
+    private String[] literals;
+
+    private NameFilter filter;
+
+    @Setup
+    public void setup() {
+        names = corpus.names(NAMES);
+        literals = new String[rules];
+        final List<String> globs = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            literals[i] = "ignored-" + Integer.toString(i * 7919, 36);
+            globs.add("*" + literals[i] + "*");
+        }
+        filter = NameFilter.compile(globs);
+    }
+
+    @Benchmark
+    public void filter(final Blackhole blackhole) {
+        for (final String name : names) {
+            blackhole.consume(filter.isIgnored("", name, false));
+        }
+    }
+
+    @Benchmark
+    public void containsScan(final Blackhole blackhole) {
+        for (final String name : names) {
+            boolean ignored = false;
+            for (final String literal : literals) {
+                if (name.contains(literal)) {
+                    ignored = true;
+                    break;
+                }
+            }
+            blackhole.consume(ignored);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.mibal.cyrillicFileRenamer.benchmark.Corpus;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link AbstractLetterTranslator#translateAll(List, ForkJoinPool)} with
+ * count of workers, compare score of 'parallelism' 1 with others.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkTranslatorBenchmark {
+
+    @Param({"SHORT", "LONG", "MIXED"})
+    private Corpus corpus;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"1000000"})
+    private int names;
+
+    private List<String> source;
+
+    private AbstractLetterTranslator translator;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        source = List.of(corpus.names(names));
+        translator = LetterStandard.EXTENDED.getLetterTranslator();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<TranslationResult> translateAll() {
+        return translator.translateAll(source, pool);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.mibal.cyrillicFileRenamer.benchmark.Corpus;
+import ua.mibal.cyrillicFileRenamer.model.exceptions.DontContainCyrillicSymbolsException;
+import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one file name translation, run with '-prof gc' to see bytes/op.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TranslatorBenchmark.NAMES)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslatorBenchmark {
+
+    static final int NAMES = 1024;
+
+    @Param({"SHORT", "LONG", "LATIN", "MIXED", "SPECIAL"})
+    private Corpus corpus;
+
+    @Param({"OFFICIAL", "EXTENDED"})
+    private LetterStandard standard;
+
+    private String[] names;
+
+    private AbstractLetterTranslator translator;
+
+    private AbstractLetterTranslator cachedTranslator;
+
+    private LetterTable table;
+
+    private StringBuilder out;
+
+    @Setup
+    public void setup() {
+        names = corpus.names(NAMES);
+        translator = standard.getLetterTranslator();
+        cachedTranslator = translator.withWordCache(4096);
+        table = translator.getLetterTable();
+        out = new StringBuilder();
+    }
+
+    @Benchmark
+    public void tryTranslate(final Blackhole blackhole) {
+        for (final String name : names) {
+            blackhole.consume(translator.tryTranslate(name));
+        }
+    }
+
+    @Benchmark
+    public void tryTranslateCached(final Blackhole blackhole) {
+        for (final String name : names) {
+            blackhole.consume(cachedTranslator.tryTranslate(name));
+        }
+    }
+
+    @Benchmark
+    public void translate(final Blackhole blackhole) {
+        for (final String name : names) {
+            try {
+                blackhole.consume(translator.translate(name));
+            } catch (IllegalLanguageException | DontContainCyrillicSymbolsException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void translateToAppendable(final Blackhole blackhole) throws IOException {
+        for (final String name : names) {
+            out.setLength(0);
+            blackhole.consume(translator.translate(name, 0, name.length(), out));
+        }
+    }
+
+    @Benchmark
+    public void prescan(final Blackhole blackhole) {
+        blackhole.consume(translator.prescan(names));
+    }
+
+    /**
+     * Splitting of names to words, as done by translation.
+     */
+    @Benchmark
+    public void tokenize(final Blackhole blackhole) {
+        for (final String name : names) {
+            for (int i = 0; i < name.length(); i = table.wordEnd(name, i, name.length())) {
+                blackhole.consume(i);
+            }
+        }
+    }
+}
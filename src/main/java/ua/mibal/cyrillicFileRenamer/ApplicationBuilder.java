@@ -19,18 +19,28 @@ package ua.mibal.cyrillicFileRenamer;
 
 import ua.mibal.cyrillicFileRenamer.component.Application;
 import ua.mibal.cyrillicFileRenamer.component.ArgumentConfigurator;
+import ua.mibal.cyrillicFileRenamer.component.ChannelCopier;
 import ua.mibal.cyrillicFileRenamer.component.DataPrinter;
 import ua.mibal.cyrillicFileRenamer.component.DataPrinter.ExitHandler;
 import ua.mibal.cyrillicFileRenamer.component.FileManager;
 import ua.mibal.cyrillicFileRenamer.component.InputReader;
 import ua.mibal.cyrillicFileRenamer.component.LocalFileManager;
+import ua.mibal.cyrillicFileRenamer.component.NameListApplication;
 import ua.mibal.cyrillicFileRenamer.component.OsDetector;
+import ua.mibal.cyrillicFileRenamer.component.PlanApplication;
+import ua.mibal.cyrillicFileRenamer.component.RollbackApplication;
 import ua.mibal.cyrillicFileRenamer.component.config.ConsoleArgumentConfigurator;
 import ua.mibal.cyrillicFileRenamer.component.config.ConsoleArgumentParser;
 import ua.mibal.cyrillicFileRenamer.component.console.ConsoleDataPrinter;
 import ua.mibal.cyrillicFileRenamer.component.console.ConsoleInputReader;
+import ua.mibal.cyrillicFileRenamer.component.translators.AbstractLetterTranslator;
 import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
 import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
+import ua.mibal.cyrillicFileRenamer.model.programMode.RenameOptions;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * @author Mykhailo Balakhon
@@ -38,10 +48,31 @@ import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
  */
 public class ApplicationBuilder {
 
+    // Copy speed is reported only for files that take noticeable time
+    private final static long REPORTED_FILE_SIZE = 64 << 20;
+
     private static String currentPath;
 
     private static LetterStandard letterStandard;
 
+    private static int wordCacheSize;
+
+    private static RenameOptions options;
+
+    private static int copyChunkSize = ChannelCopier.DEFAULT_CHUNK_SIZE;
+
+    private static int copyBufferSize = ChannelCopier.DEFAULT_BUFFER_SIZE;
+
+    private static String appliedPlanFile;
+
+    private static boolean rollback;
+
+    private static List<String> filterRules = List.of();
+
+    private static String namesFile;
+
+    private static String outputFile;
+
     private final InputReader inputReader = new ConsoleInputReader();
 
     private final ExitHandler exitHandler = () -> System.exit(0);
@@ -57,6 +88,8 @@ public class ApplicationBuilder {
 
     public ApplicationBuilder(final String[] args) {
         dataPrinter.printWelcomeMessage();
+        // Names on Windows differ by case only for user, not for file system
+        options = RenameOptions.defaults().withIgnoreCase(os == OS.WINDOWS);
         if (args.length == 0) {
             return;
         }
@@ -64,6 +97,100 @@ public class ApplicationBuilder {
         parser.parse(args);
         currentPath = fileManager.testAndGetCorrectPath(parser.getPath());
         letterStandard = parser.getLetterStandard();
+        wordCacheSize = parser.getWordCacheSize();
+        options = options
+            .withConcurrency(parser.getConcurrency())
+            .withRecursive(parser.isRecursive())
+            .withTransferMode(parser.getTransferMode())
+            .withIncremental(parser.isIncremental())
+            .withPlanFile(parser.getPlanFile())
+            .withIgnoreCase(options.isIgnoreCase() || parser.isIgnoreCase())
+            .withResume(parser.isResume())
+            .withDedup(parser.isDedup());
+        appliedPlanFile = parser.getAppliedPlanFile();
+        rollback = parser.isRollback();
+        filterRules = List.copyOf(parser.getFilterRules());
+        copyChunkSize = parser.getCopyChunkSize();
+        copyBufferSize = parser.getCopyBufferSize();
+        namesFile = parser.getNamesFile();
+        outputFile = parser.getOutputFile();
+    }
+
+    /**
+     * @return {@code true} if names are translated from file instead of directory
+     */
+    public boolean isNameListMode() {
+        return namesFile != null;
+    }
+
+    public NameListApplication buildNameListApplication() {
+        dataPrinter.printInfoMessage("Names: " + namesFile);
+        final LetterStandard standard = letterStandard != null ? letterStandard : LetterStandard.EXTENDED;
+        dataPrinter.printInfoMessage("Transliteration standard: " + standard);
+        final Path output = outputFile != null ? Path.of(outputFile) : Path.of(namesFile + ".latin");
+        return new NameListApplication(
+            dataPrinter,
+            Path.of(namesFile),
+            output,
+            withWordCache(standard.getLetterTranslator())
+        );
+    }
+
+    /**
+     * @return {@code true} if files are renamed by saved plan
+     */
+    public boolean isPlanMode() {
+        return appliedPlanFile != null;
+    }
+
+    public PlanApplication buildPlanApplication() {
+        dataPrinter.printInfoMessage("Plan: " + appliedPlanFile);
+        return new PlanApplication(
+            dataPrinter,
+            renamingFileManager(),
+            Path.of(appliedPlanFile),
+            options.getConcurrency()
+        );
+    }
+
+    /**
+     * @return {@code true} if the last run in directory is rolled back
+     */
+    public boolean isRollbackMode() {
+        return rollback;
+    }
+
+    public RollbackApplication buildRollbackApplication() {
+        if (currentPath == null) {
+            currentPath = argumentConfigurator.configurePath();
+        }
+        dataPrinter.printInfoMessage("Path: " + currentPath);
+        dataPrinter.printInfoMessage("Files renamed by the last run are restored");
+        return new RollbackApplication(dataPrinter, fileManager, currentPath);
+    }
+
+    private AbstractLetterTranslator withWordCache(final AbstractLetterTranslator letterTranslator) {
+        if (wordCacheSize > 0) {
+            dataPrinter.printInfoMessage("Word cache: " + wordCacheSize + " words");
+            return letterTranslator.withWordCache(wordCacheSize);
+        }
+        return letterTranslator;
+    }
+
+    /**
+     * @return file manager that copies files with configured chunks and buffer
+     * and skips files by configured rules
+     */
+    private FileManager renamingFileManager() {
+        return new LocalFileManager(
+            os, new ChannelCopier(copyChunkSize, copyBufferSize, this::reportCopy), filterRules);
+    }
+
+    private void reportCopy(final Path target, final long bytes, final long nanos) {
+        if (bytes >= REPORTED_FILE_SIZE) {
+            dataPrinter.printInfoMessage(format("Copied %s: %d MiB, %.1f MiB/s",
+                target.getFileName(), bytes >> 20, (bytes / (double) (1 << 20)) / (nanos / 1e9)));
+        }
     }
 
     public Application build() {
@@ -75,12 +202,50 @@ public class ApplicationBuilder {
             letterStandard = argumentConfigurator.configureLetterStandard();
         }
         dataPrinter.printInfoMessage("Transliteration standard: " + letterStandard);
-
+        if (options.getConcurrency().getLimit() > 1) {
+            dataPrinter.printInfoMessage("Concurrency: " + options.getConcurrency());
+        }
+        if (options.isRecursive()) {
+            dataPrinter.printInfoMessage("Subdirectories are renamed too");
+        }
+        if (options.getPlanFile() != null) {
+            dataPrinter.printInfoMessage("Files aren't renamed, plan is written to " + options.getPlanFile());
+        }
+        if (!filterRules.isEmpty()) {
+            dataPrinter.printInfoMessage("Rules of ignored files: " + String.join(" ", filterRules));
+        }
+        if (options.isIncremental()) {
+            dataPrinter.printInfoMessage("Unchanged files renamed by previous run are skipped");
+        }
+        if (options.isResume()) {
+            dataPrinter.printInfoMessage("Interrupted run is resumed, files renamed by it are skipped");
+        }
+        if (options.isDedup()) {
+            dataPrinter.printInfoMessage(options.getTransferMode() == TransferMode.COPY
+                ? "Files with the same content are linked to the first copy"
+                : "Files are deduplicated only when they are copied");
+        }
+        switch (options.getTransferMode()) {
+            case MOVE:
+                dataPrinter.printInfoMessage("Files are renamed in place");
+                break;
+            case LINK:
+                dataPrinter.printInfoMessage("Files are hard linked to resulting directory");
+                break;
+            default:
+                break;
+        }
+        if (copyChunkSize != ChannelCopier.DEFAULT_CHUNK_SIZE
+            || copyBufferSize != ChannelCopier.DEFAULT_BUFFER_SIZE) {
+            dataPrinter.printInfoMessage(format("Copy chunk: %d KiB, buffer: %d KiB",
+                copyChunkSize >> 10, copyBufferSize >> 10));
+        }
         return new Application(
             dataPrinter,
-            fileManager,
+            renamingFileManager(),
             currentPath,
-            letterStandard.getLetterTranslator()
+            withWordCache(letterStandard.getLetterTranslator()),
+            options
         );
     }
 }
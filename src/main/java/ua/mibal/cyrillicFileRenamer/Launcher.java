@@ -26,7 +26,20 @@ import ua.mibal.cyrillicFileRenamer.component.Application;
 public class Launcher {
 
     public static void main(String[] args) {
-        Application application = new ApplicationBuilder(args).build();
+        final ApplicationBuilder builder = new ApplicationBuilder(args);
+        if (builder.isNameListMode()) {
+            builder.buildNameListApplication().start();
+            return;
+        }
+        if (builder.isPlanMode()) {
+            builder.buildPlanApplication().start();
+            return;
+        }
+        if (builder.isRollbackMode()) {
+            builder.buildRollbackApplication().start();
+            return;
+        }
+        Application application = builder.build();
         application.start();
     }
 }
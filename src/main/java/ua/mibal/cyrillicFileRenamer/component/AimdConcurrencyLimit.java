@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Additive increase / multiplicative decrease of copy concurrency.
+ * Copies are measured in windows: limit grows by one while latency holds,
+ * and backs off when latency grows without gain in throughput, which means
+ * copies wait for each other in the disk queue, like on spinning disks.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class AimdConcurrencyLimit extends ConcurrencyLimit {
+
+    private final static int MIN_WINDOW = 8;
+
+    // Latency may grow this much above the best one before backing off
+    private final static double LATENCY_TOLERANCE = 2.0;
+
+    // Throughput gain that is worth higher latency
+    private final static double THROUGHPUT_GAIN = 1.1;
+
+    private final static double BACKOFF = 0.75;
+
+    private final int max;
+
+    private final LongSupplier clock;
+
+    private long windowStart;
+
+    private int windowCopies;
+
+    private long windowLatency;
+
+    private double minLatency = Double.MAX_VALUE;
+
+    private double previousThroughput;
+
+    AimdConcurrencyLimit(final int max) {
+        this(max, System::nanoTime);
+    }
+
+    AimdConcurrencyLimit(final int max, final LongSupplier clock) {
+        super(1);
+        this.max = max;
+        this.clock = clock;
+        this.windowStart = clock.getAsLong();
+    }
+
+    @Override
+    void onCopy(final long latencyNanos) {
+        windowCopies++;
+        windowLatency += latencyNanos;
+        final int limit = getLimit();
+        if (windowCopies < Math.max(MIN_WINDOW, limit)) {
+            return;
+        }
+        final long now = clock.getAsLong();
+        final double latency = (double) windowLatency / windowCopies;
+        final double throughput = (double) windowCopies / Math.max(1, now - windowStart);
+        minLatency = Math.min(minLatency, latency);
+
+        if (latency > minLatency * LATENCY_TOLERANCE && throughput < previousThroughput * THROUGHPUT_GAIN) {
+            setLimit(Math.max(1, (int) (limit * BACKOFF)));
+        } else if (limit < max) {
+            setLimit(limit + 1);
+        }
+        previousThroughput = throughput;
+        windowStart = now;
+        windowCopies = 0;
+        windowLatency = 0;
+    }
+}
@@ -18,13 +18,16 @@
 package ua.mibal.cyrillicFileRenamer.component;
 
 import ua.mibal.cyrillicFileRenamer.component.translators.AbstractLetterTranslator;
-import ua.mibal.cyrillicFileRenamer.model.exceptions.DontContainCyrillicSymbolsException;
-import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
+import ua.mibal.cyrillicFileRenamer.model.programMode.RenameOptions;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Mykhailo Balakhon
@@ -32,6 +35,11 @@ import java.util.Map;
  */
 public class Application {
 
+    // Hidden files next to resulting directory, so they're never renamed themselves
+    final static String MANIFEST_NAME = ".renamedToLatin.manifest";
+
+    final static String JOURNAL_NAME = ".renamedToLatin.journal";
+
     private final DataPrinter dataPrinter;
 
     private final FileManager fileManager;
@@ -40,37 +48,223 @@ public class Application {
 
     private final AbstractLetterTranslator letterTranslator;
 
+    private final RenameOptions options;
+
     public Application(final DataPrinter dataPrinter,
                        final FileManager fileManager,
                        final String pathToCatalog,
                        final AbstractLetterTranslator letterTranslator) {
+        this(dataPrinter, fileManager, pathToCatalog, letterTranslator, RenameOptions.defaults());
+    }
+
+    public Application(final DataPrinter dataPrinter,
+                       final FileManager fileManager,
+                       final String pathToCatalog,
+                       final AbstractLetterTranslator letterTranslator,
+                       final Concurrency concurrency) {
+        this(dataPrinter, fileManager, pathToCatalog, letterTranslator,
+            RenameOptions.defaults().withConcurrency(concurrency));
+    }
+
+    public Application(final DataPrinter dataPrinter,
+                       final FileManager fileManager,
+                       final String pathToCatalog,
+                       final AbstractLetterTranslator letterTranslator,
+                       final RenameOptions options) {
         this.dataPrinter = requireNonNull(dataPrinter);
         this.fileManager = requireNonNull(fileManager);
         this.pathToCatalog = requireNonNull(pathToCatalog);
         this.letterTranslator = requireNonNull(letterTranslator);
+        this.options = requireNonNull(options);
     }
 
     public void start() {
-        final File[] directoryFiles = fileManager.getFilesFromDirectory(pathToCatalog);
-        fileManager.createResultingDirectory(pathToCatalog);
-        final Map<String, Exception> logList = new HashMap<>();
-
-        for (final File sourceFile : directoryFiles) {
-            final String oldName = sourceFile.getName(); // with extension
-            String newName;
-            try {
-                newName = letterTranslator.translate(oldName);
-            } catch (IllegalLanguageException | DontContainCyrillicSymbolsException e) {
-                logList.put(oldName, e);
-                continue;
-            }
+        if (options.getPlanFile() != null) {
+            plan(Path.of(options.getPlanFile()));
+            return;
+        }
+        final Path journalFile = Path.of(pathToCatalog, JOURNAL_NAME);
+        final Journal journal;
+        if (options.isResume()) {
+            journal = resumeJournal(journalFile);
+        } else {
+            journal = createJournal(dataPrinter, journalFile, options.getTransferMode());
+        }
+        if (journal == null) {
+            return;
+        }
+        if (options.getTransferMode() != TransferMode.MOVE) {
+            fileManager.createResultingDirectory(pathToCatalog);
+        }
+        final Map<String, Exception> logList = new ConcurrentHashMap<>();
+        final Concurrency concurrency = options.getConcurrency();
+        final Path manifestFile = Path.of(pathToCatalog, MANIFEST_NAME);
+        final Manifest manifest = options.isIncremental() && options.getTransferMode() != TransferMode.MOVE
+            ? loadManifest(manifestFile)
+            : null;
+        final RenamePipeline pipeline = new RenamePipeline(
+            fileManager, letterTranslator, options, logList, manifest, journal);
+        final int files;
+        try {
+            files = pipeline.run(pathToCatalog);
+            finishJournal(dataPrinter, journal, journalFile);
+        } catch (RuntimeException e) {
+            printRenamingFailure(dataPrinter, journalFile, e);
+            dataPrinter.outInfo(pipeline.getListedFiles(), logList);
+            dataPrinter.exit();
+            return;
+        } finally {
+            closeJournal(dataPrinter, journal, journalFile);
+        }
+        if (options.isResume()) {
+            dataPrinter.printInfoMessage("Files renamed before interruption: " + pipeline.getResumedFiles());
+        }
+        if (manifest != null) {
+            dataPrinter.printInfoMessage("Unchanged files skipped: " + pipeline.getSkippedFiles());
             try {
-                fileManager.copyRenamedFile(sourceFile, newName);
+                manifest.save(manifestFile);
             } catch (IOException e) {
-                logList.put(oldName, e);
+                dataPrinter.printErrorMessage(format("Can't save manifest '%s': %s", manifestFile, e));
             }
         }
-        dataPrinter.outInfo(directoryFiles.length, logList);
+        printCollisions(pipeline);
+        if (options.isDedup() && options.getTransferMode() == TransferMode.COPY) {
+            dataPrinter.printInfoMessage(format("Duplicates linked: %d, saved: %d bytes (%d MiB)",
+                pipeline.getDuplicates(), pipeline.getSavedBytes(), pipeline.getSavedBytes() >> 20));
+        }
+        if (concurrency.getMode() == Concurrency.Mode.ADAPTIVE) {
+            dataPrinter.printInfoMessage(format("Copy concurrency: %d (adaptive, max %d)",
+                pipeline.getCopyConcurrency(), concurrency.getLimit()));
+        }
+        if (letterTranslator.getWordCache() != null) {
+            dataPrinter.printInfoMessage("Word cache: " + letterTranslator.getWordCache());
+        }
+        dataPrinter.outInfo(files, logList);
         dataPrinter.exit();
     }
+
+    /**
+     * Writes renames, problems and collisions to {@code planFile}, files aren't touched.
+     */
+    private void plan(final Path planFile) {
+        final long start = System.nanoTime();
+        final Map<String, Exception> logList = new ConcurrentHashMap<>();
+        final RenamePipeline pipeline = new RenamePipeline(fileManager, letterTranslator, options, logList, null, null);
+        final int files;
+        final RenamePlan.Writer plan;
+        try (final RenamePlan.Writer writer = RenamePlan.create(planFile, pathToCatalog, options.getTransferMode())) {
+            files = pipeline.plan(pathToCatalog, writer);
+            logList.forEach(writer::problem);
+            plan = writer;
+        } catch (IOException | UncheckedIOException e) {
+            dataPrinter.printErrorMessage(format("Can't write plan '%s': %s", planFile, e));
+            return;
+        }
+        dataPrinter.printInfoMessage(format(
+            "Files: %d, renames: %d (%d bytes), collisions: %d, problems: %d (%d ms)",
+            files, plan.getRenames(), plan.getBytes(), plan.getCollisions(), plan.getProblems(),
+            (System.nanoTime() - start) / 1_000_000));
+        dataPrinter.printInfoMessage("Plan: " + planFile);
+    }
+
+    private void printCollisions(final RenamePipeline pipeline) {
+        if (pipeline.getCollisions() > 0) {
+            dataPrinter.printInfoMessage(
+                "Files with suffixed names because of collisions: " + pipeline.getCollisions());
+        }
+    }
+
+    /**
+     * @return journal or {@code null} if run can't be resumed by it
+     */
+    private Journal resumeJournal(final Path journalFile) {
+        final Journal journal;
+        try {
+            journal = Journal.resume(journalFile);
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format("Can't resume run by journal '%s': %s", journalFile, e));
+            return null;
+        }
+        if (journal.getTransferMode() != options.getTransferMode()) {
+            dataPrinter.printErrorMessage(format("Run of journal '%s' renamed files in %s mode, not in %s",
+                journalFile, journal.getTransferMode(), options.getTransferMode()));
+            closeJournal(dataPrinter, journal, journalFile);
+            return null;
+        }
+        return journal;
+    }
+
+    /**
+     * @return new journal or {@code null} if it can't be written or journal of interrupted run
+     * exists, files aren't renamed then
+     */
+    static Journal createJournal(final DataPrinter dataPrinter,
+                                 final Path journalFile,
+                                 final TransferMode transferMode) {
+        try {
+            if (Journal.isUnfinished(journalFile)) {
+                dataPrinter.printErrorMessage(format("Journal '%s' of interrupted run exists: " +
+                    "continue run with --resume, restore its files with --rollback or delete journal",
+                    journalFile));
+                return null;
+            }
+            return Journal.create(journalFile, transferMode);
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format(
+                "Can't write journal '%s', files aren't renamed: %s", journalFile, e));
+            return null;
+        }
+    }
+
+    /**
+     * Marks run finished, so the next run may start new journal.
+     */
+    static void finishJournal(final DataPrinter dataPrinter, final Journal journal, final Path journalFile) {
+        try {
+            journal.finish();
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format(
+                "Can't mark journal '%s' finished, delete it before the next run: %s", journalFile, e));
+        }
+    }
+
+    static void closeJournal(final DataPrinter dataPrinter, final Journal journal, final Path journalFile) {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format("Can't save journal '%s': %s", journalFile, e));
+        }
+    }
+
+    /**
+     * Reports stopped renaming, journal is left unfinished, so renamed files can be restored by it.
+     *
+     * @param failure failure of renaming, failed stage is its cause
+     */
+    static void printRenamingFailure(final DataPrinter dataPrinter,
+                                     final Path journalFile,
+                                     final RuntimeException failure) {
+        final Throwable cause = failure instanceof IllegalStateException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+        if (cause instanceof Journal.JournalException) {
+            dataPrinter.printErrorMessage(format(
+                "Renaming is stopped, journal '%s' can't be written, continue it with --resume later: %s",
+                journalFile, cause.getCause()));
+        } else {
+            dataPrinter.printErrorMessage(format(
+                "Renaming is stopped, continue it with --resume or restore renamed files with --rollback: %s",
+                cause));
+        }
+    }
+
+    private Manifest loadManifest(final Path manifestFile) {
+        try {
+            return Manifest.load(manifestFile);
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format(
+                "Can't read manifest '%s', all files are renamed: %s", manifestFile, e));
+            return Manifest.empty();
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Copies files by {@link FileChannel#transferTo} in chunks of {@code chunkSize}, so kernel
+ * moves data between files without copying it to java heap. If channel doesn't transfer,
+ * the rest of file is copied through direct buffer of {@code bufferSize}.
+ *
+ * <p>Direct buffers are pooled: buffer is taken by copy and returned after it,
+ * so count of buffers doesn't exceed count of files copied at once.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class ChannelCopier {
+
+    public final static int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    public final static int DEFAULT_BUFFER_SIZE = 256 << 10;
+
+    private final static Set<StandardOpenOption> TARGET_OPTIONS = EnumSet.of(WRITE, CREATE_NEW);
+
+    private final int chunkSize;
+
+    private final int bufferSize;
+
+    private final CopyListener listener;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param chunkSize  max bytes of one transfer or 0 if files are copied only through buffer
+     * @param bufferSize size of direct buffer
+     * @param listener   is called after every copied file from thread of copy
+     */
+    public ChannelCopier(final int chunkSize, final int bufferSize, final CopyListener listener) {
+        if (chunkSize < 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException(
+                "Illegal chunk size " + chunkSize + " or buffer size " + bufferSize);
+        }
+        this.chunkSize = chunkSize;
+        this.bufferSize = bufferSize;
+        this.listener = listener;
+    }
+
+    public static ChannelCopier defaults() {
+        return new ChannelCopier(DEFAULT_CHUNK_SIZE, DEFAULT_BUFFER_SIZE, (target, bytes, nanos) -> {
+        });
+    }
+
+    /**
+     * Copies regular file to new {@code target}, partly copied target is deleted on failure.
+     * Other files, like directories, are copied by {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}.
+     *
+     * @return count of copied bytes
+     * @throws java.nio.file.FileAlreadyExistsException if {@code target} exists
+     */
+    public long copy(final Path source, final Path target) throws IOException {
+        final long start = System.nanoTime();
+        final boolean posix = source.getFileSystem().supportedFileAttributeViews().contains("posix");
+        final BasicFileAttributes attributes = posix
+            ? Files.readAttributes(source, PosixFileAttributes.class)
+            : Files.readAttributes(source, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+            Files.copy(source, target);
+            return 0;
+        }
+        final long bytes;
+        try (final FileChannel in = FileChannel.open(source, READ)) {
+            final FileChannel out = FileChannel.open(target, TARGET_OPTIONS, permissionsOf(attributes));
+            try (out) {
+                bytes = transfer(in, out);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    Files.deleteIfExists(target);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+        listener.copied(target, bytes, System.nanoTime() - start);
+        return bytes;
+    }
+
+    private long transfer(final FileChannel in, final FileChannel out) throws IOException {
+        final long size = in.size();
+        long position = 0;
+        if (chunkSize > 0) {
+            while (position < size) {
+                final long transferred = in.transferTo(position, Math.min(chunkSize, size - position), out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            if (position >= size) {
+                return position;
+            }
+        }
+        return copyThroughBuffer(in, out, position);
+    }
+
+    /**
+     * Copies file from {@code position} to its end.
+     *
+     * @return position of file end
+     */
+    private long copyThroughBuffer(final FileChannel in, final FileChannel out, long position) throws IOException {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        try {
+            buffer.clear();
+            int read;
+            while ((read = in.read(buffer, position)) != -1) {
+                position += read;
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            return position;
+        } finally {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Target gets permissions of source as by {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}.
+     */
+    private static FileAttribute<?>[] permissionsOf(final BasicFileAttributes attributes) {
+        if (!(attributes instanceof PosixFileAttributes)) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(((PosixFileAttributes) attributes).permissions())
+        };
+    }
+
+    @FunctionalInterface
+    public interface CopyListener {
+
+        /**
+         * @param nanos time of copy
+         */
+        void copied(Path target, long bytes, long nanos);
+    }
+}
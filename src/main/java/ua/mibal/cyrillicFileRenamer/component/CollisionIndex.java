@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * New names of files taken by the current run, so collision of two files is resolved
+ * before any file is touched. The second file with the same name gets suffix '_2',
+ * the third one '_3' and so on, suffix goes before extension: 'Foto_2.jpg'.
+ * Files get the same suffixes while they are renamed in the same order.
+ *
+ * <p>Names are folded to lower case for case-insensitive file systems.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class CollisionIndex {
+
+    private final boolean ignoreCase;
+
+    private final Set<String> taken = ConcurrentHashMap.newKeySet();
+
+    // The last suffix of colliding name, so the next one is found without scan from '_2'
+    private final Map<String, Integer> suffixes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger collisions = new AtomicInteger();
+
+    CollisionIndex(final boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @return path of {@code name} in {@code directory} separated by '/',
+     * directory is empty for names of root
+     */
+    static String pathOf(final String directory, final String name) {
+        return directory.isEmpty() ? name : directory + "/" + name;
+    }
+
+    /**
+     * Marks existing file as taken.
+     *
+     * @param path path of file relative to root separated by '/'
+     */
+    void reserve(final String path) {
+        taken.add(keyOf(path));
+    }
+
+    /**
+     * @return {@code name} if it's free in {@code directory} or name with the next free suffix
+     */
+    String claim(final String directory, final String name) {
+        final String key = keyOf(pathOf(directory, name));
+        if (taken.add(key)) {
+            return name;
+        }
+        collisions.incrementAndGet();
+        final int dot = name.lastIndexOf('.');
+        final String base = dot > 0 ? name.substring(0, dot) : name;
+        final String extension = dot > 0 ? name.substring(dot) : "";
+        while (true) {
+            final String candidate = base + "_" + suffixes.merge(key, 2, (last, ignored) -> last + 1) + extension;
+            if (taken.add(keyOf(pathOf(directory, candidate)))) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * @return count of names that got suffix
+     */
+    int getCollisions() {
+        return collisions.get();
+    }
+
+    private String keyOf(final String path) {
+        return ignoreCase ? path.toLowerCase(Locale.ROOT) : path;
+    }
+}
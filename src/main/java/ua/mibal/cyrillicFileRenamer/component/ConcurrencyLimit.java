@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+/**
+ * Limit of files copied at once. Copier acquires place before copy and
+ * releases it with latency of copy, subclasses change limit by latencies.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+class ConcurrencyLimit {
+
+    private int limit;
+
+    private int inFlight;
+
+    ConcurrencyLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    synchronized void release(final long latencyNanos) {
+        inFlight--;
+        onCopy(latencyNanos);
+        notifyAll();
+    }
+
+    /**
+     * Waits until all acquired places are released.
+     */
+    synchronized void awaitAll() throws InterruptedException {
+        while (inFlight > 0) {
+            wait();
+        }
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Called under lock for every finished copy.
+     */
+    void onCopy(final long latencyNanos) {
+    }
+
+    void setLimit(final int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import static java.nio.file.StandardOpenOption.READ;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies renamed files so content that is copied already is hard linked instead of copied again.
+ *
+ * <p>Only files of the same size may be duplicates, so the first file of every size
+ * is copied without hashing and it's hashed only when the second file of its size comes.
+ * Files are hashed by SHA-256 while they are streamed through pooled direct buffers,
+ * by copiers that call this one in parallel. Duplicate waits until its original is copied,
+ * then it's linked to the copy or copied if link is impossible. Copier of duplicate is parked
+ * while it waits, that can't deadlock: copier of original copies it at once and never waits itself.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class Deduplicator {
+
+    private final static String ALGORITHM = "SHA-256";
+
+    private final static int BUFFER_SIZE = 256 << 10;
+
+    private final FileManager fileManager;
+
+    private final Map<Long, SizeBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger duplicates = new AtomicInteger();
+
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    Deduplicator(final FileManager fileManager) {
+        this.fileManager = fileManager;
+    }
+
+    /**
+     * Same as {@link FileManager#copyRenamedFile(Path, String)}, may be called from many threads.
+     *
+     * @param size size of {@code sourceFile}
+     */
+    void copy(final Path sourceFile, final long size, final String newName) throws IOException {
+        final Original own = new Original(sourceFile, newName);
+        // Empty files have nothing to save
+        final SizeBucket bucket = size == 0 ? null : buckets.computeIfAbsent(size, ignored -> new SizeBucket(own));
+        if (bucket == null || bucket.first == own) {
+            copyOriginal(own);
+            return;
+        }
+        final ByteBuffer digest;
+        try {
+            digest = hash(sourceFile);
+        } catch (IOException e) {
+            // Copy reports the problem of file
+            fileManager.copyRenamedFile(sourceFile, newName);
+            return;
+        }
+        final Original original = bucket.originalOf(digest, own);
+        if (original == own) {
+            copyOriginal(own);
+            return;
+        }
+        // Copy of original is usually in progress already, it came before duplicate
+        if (original.copied.join() && fileManager.linkRenamedDuplicate(original.newName, newName)) {
+            duplicates.incrementAndGet();
+            savedBytes.addAndGet(size);
+            return;
+        }
+        fileManager.copyRenamedFile(sourceFile, newName);
+    }
+
+    private void copyOriginal(final Original original) throws IOException {
+        boolean copied = false;
+        try {
+            fileManager.copyRenamedFile(original.sourceFile, original.newName);
+            copied = true;
+        } finally {
+            original.copied.complete(copied);
+        }
+    }
+
+    private ByteBuffer hash(final Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is required by every Java platform", e);
+        }
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } finally {
+            buffer.clear();
+            buffers.offer(buffer);
+        }
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    /**
+     * @return count of files linked to copies of the same content
+     */
+    int getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * @return bytes that aren't copied because of links
+     */
+    long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    private final class SizeBucket {
+
+        private final Original first;
+
+        // Originals by digests of content, guarded by bucket
+        private final Map<ByteBuffer, Original> originals = new HashMap<>();
+
+        private final AtomicBoolean firstHashing = new AtomicBoolean();
+
+        // Completed when the first file is hashed and added to originals, if it's readable
+        private final CompletableFuture<Void> firstHashed = new CompletableFuture<>();
+
+        private SizeBucket(final Original first) {
+            this.first = first;
+        }
+
+        /**
+         * The first file is hashed by the second one without lock of bucket,
+         * other files of its size wait only for its digest before they are added.
+         *
+         * @return original of {@code digest} or {@code own} if it's the first file of content
+         */
+        private Original originalOf(final ByteBuffer digest, final Original own) {
+            if (firstHashing.compareAndSet(false, true)) {
+                try {
+                    final ByteBuffer firstDigest = hash(first.sourceFile);
+                    synchronized (this) {
+                        originals.put(firstDigest, first);
+                    }
+                } catch (IOException e) {
+                    // Unreadable first file can't be original
+                } finally {
+                    firstHashed.complete(null);
+                }
+            }
+            firstHashed.join();
+            synchronized (this) {
+                final Original original = originals.putIfAbsent(digest, own);
+                return original == null ? own : original;
+            }
+        }
+    }
+
+    private static final class Original {
+
+        private final Path sourceFile;
+
+        private final String newName;
+
+        // Completed with true if file is copied
+        private final CompletableFuture<Boolean> copied = new CompletableFuture<>();
+
+        private Original(final Path sourceFile, final String newName) {
+            this.sourceFile = sourceFile;
+            this.newName = newName;
+        }
+    }
+}
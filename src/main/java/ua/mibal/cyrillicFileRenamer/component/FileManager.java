@@ -17,8 +17,13 @@
 
 package ua.mibal.cyrillicFileRenamer.component;
 
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 /**
  * @author Mykhailo Balakhon
@@ -28,13 +33,93 @@ public interface FileManager {
 
     File[] getFilesFromDirectory(String pathToCatalog);
 
+    /**
+     * Passes files of directory with their attributes to {@code action} one by one
+     * while directory is read, so files of huge directory are never held together.
+     */
+    default void forEachFile(final String pathToCatalog, final FileConsumer action) {
+        for (final File file : getFilesFromDirectory(pathToCatalog)) {
+            final Path path = file.toPath();
+            try {
+                action.accept(path, Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #forEachFile(String, FileConsumer)} for files of all subdirectories,
+     * {@code action} and {@code failure} may be called from many threads.
+     *
+     * @param failure gets subdirectory that can't be listed, the rest of tree is listed anyway
+     */
+    default void forEachFileInTree(final String pathToCatalog,
+                                   final FileConsumer action,
+                                   final DirectoryFailureConsumer failure) {
+        forEachFile(pathToCatalog, action);
+    }
+
     void createResultingDirectory(String pathToCurrentDir);
 
-    void copyRenamedFile(File sourceFile, String newName) throws IOException;
+    /**
+     * @param newName name of file in resulting directory, may contain path
+     *                of subdirectory separated by '/'
+     */
+    void copyRenamedFile(Path sourceFile, String newName) throws IOException;
+
+    /**
+     * Same as {@link #copyRenamedFile(Path, String)}, but file is hard linked instead of copied
+     * if file system allows it.
+     */
+    default void linkRenamedFile(final Path sourceFile, final String newName) throws IOException {
+        copyRenamedFile(sourceFile, newName);
+    }
+
+    /**
+     * Hard links renamed file to another file of resulting directory with the same content.
+     *
+     * @param originalName name of copied file as passed to {@link #copyRenamedFile(Path, String)}
+     * @return {@code false} if file system can't link files, so file should be copied
+     * @throws java.nio.file.FileAlreadyExistsException if file with new name exists
+     */
+    default boolean linkRenamedDuplicate(final String originalName, final String newName) throws IOException {
+        return false;
+    }
+
+    /**
+     * Deletes file from resulting directory if it exists.
+     *
+     * @param name name of file in resulting directory as passed to {@link #copyRenamedFile(Path, String)}
+     */
+    void deleteRenamedFile(String name) throws IOException;
+
+    /**
+     * Renames file in its own directory, existing file is never replaced by it.
+     * If file system can't rename without replace, e.g. it has no hard links on POSIX,
+     * existing target is checked before the move: file created by another process
+     * between the check and the move may be replaced.
+     *
+     * @param newName name of file without path
+     * @throws java.nio.file.FileAlreadyExistsException if file with new name exists
+     */
+    void moveRenamedFile(Path sourceFile, String newName) throws IOException;
 
     String testAndGetCorrectPath(String path);
 
     String getParentDir(String currentPath);
 
     String getPathExample();
+
+    @FunctionalInterface
+    interface FileConsumer {
+
+        void accept(Path file, BasicFileAttributes attributes);
+    }
+
+    @FunctionalInterface
+    interface DirectoryFailureConsumer {
+
+        void accept(Path directory, IOException failure);
+    }
 }
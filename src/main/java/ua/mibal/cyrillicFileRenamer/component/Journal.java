@@ -0,0 +1,616 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-ahead journal of run, so interrupted run is resumed from the next file or rolled back:
+ * intent to rename file is appended before its copy, link or move and rename is marked done
+ * or failed after it.
+ *
+ * <p>Journal is binary file: header with state of run and transfer mode and then records.
+ * Intent record has path of source file relative to renamed directory and its new name,
+ * done and failed records have ordinal of intent. Records are synced in batches: crash loses
+ * at most the last batch, lost copies and links are made again by resume and lost done records
+ * leave intents unfinished. Moves are made only after their intents are synced by {@link #sync()},
+ * so moved file is never left out of journal, copier syncs intents of a batch of moves at once.
+ * Incomplete record at the end of file is dropped.
+ *
+ * <p>Records of previous run aren't held in memory, only hashes of their paths and their
+ * offsets are, records are read from file when they are needed.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class Journal implements Closeable {
+
+    // "CFRJ" and version of format
+    private final static int MAGIC = 0x4346524A;
+
+    private final static int VERSION = 2;
+
+    // Offset of state of run in header
+    private final static int STATE_OFFSET = 8;
+
+    private final static byte RUNNING = 0;
+
+    private final static byte FINISHED = 1;
+
+    private final static byte INTENT = 1;
+
+    private final static byte DONE = 2;
+
+    private final static byte FAILED = 3;
+
+    private final static int SYNC_BATCH = 1024;
+
+    private final static long SYNC_INTERVAL_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TransferMode transferMode;
+
+    // Channel for new records or null if journal is only read
+    private final FileChannel channel;
+
+    private final Index previous;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    private final Object syncLock = new Object();
+
+    // Ordinal of the next intent
+    private int intents;
+
+    // Length of journal with buffered records
+    private long appended;
+
+    // Length of journal synced to disk, guarded by syncLock
+    private long synced;
+
+    private int unsynced;
+
+    private long lastSync = System.nanoTime();
+
+    private Journal(final TransferMode transferMode, final FileChannel channel,
+                    final Index previous, final long length) {
+        this.transferMode = transferMode;
+        this.channel = channel;
+        this.previous = previous;
+        this.intents = previous.records;
+        this.appended = length;
+        this.synced = length;
+    }
+
+    /**
+     * Starts new journal, previous one is replaced.
+     */
+    static Journal create(final Path file, final TransferMode transferMode) throws IOException {
+        final FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+        try {
+            final ByteArrayOutputStream header = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(header);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(RUNNING);
+            out.writeUTF(transferMode.name());
+            write(channel, header.toByteArray(), 0);
+            channel.force(false);
+            return new Journal(transferMode, channel, new Index(null), header.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return {@code true} if journal exists and its run neither finished nor was rolled back
+     */
+    static boolean isUnfinished(final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readHeader(file, in);
+        }
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteBuffer state = ByteBuffer.allocate(1);
+            channel.read(state, STATE_OFFSET);
+            return state.get(0) != FINISHED;
+        }
+    }
+
+    /**
+     * Reads journal to roll it back.
+     */
+    static Journal read(final Path file) throws IOException {
+        return open(file, false);
+    }
+
+    /**
+     * Reads journal and opens it for new records of resumed run.
+     */
+    static Journal resume(final Path file) throws IOException {
+        return open(file, true);
+    }
+
+    private static Journal open(final Path file, final boolean append) throws IOException {
+        final Index previous = new Index(FileChannel.open(file, READ));
+        FileChannel channel = null;
+        try {
+            final TransferMode transferMode;
+            long length;
+            try (final CountingInputStream counting = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+                final DataInputStream in = new DataInputStream(counting);
+                transferMode = readHeader(file, in);
+                length = counting.count;
+                try {
+                    while (true) {
+                        final byte type = in.readByte();
+                        if (type == INTENT) {
+                            final String oldPath = in.readUTF();
+                            in.readUTF();
+                            previous.add(oldPath, length);
+                        } else if (type != DONE && type != FAILED
+                                   || !previous.mark(in.readInt(), type == DONE ? previous.done : previous.failed)) {
+                            // Zeros left by crash
+                            break;
+                        }
+                        length = counting.count;
+                    }
+                } catch (EOFException | UTFDataFormatException e) {
+                    // Record written at crash is incomplete
+                }
+            }
+            if (append) {
+                channel = FileChannel.open(file, WRITE);
+                channel.truncate(length);
+                channel.position(length);
+                write(channel, new byte[] {RUNNING}, STATE_OFFSET);
+                channel.force(false);
+            }
+            return new Journal(transferMode, channel, previous, length);
+        } catch (IOException | RuntimeException e) {
+            previous.close();
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    private static TransferMode readHeader(final Path file, final DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported format of journal " + file);
+            }
+            in.readByte();
+            return TransferMode.valueOf(in.readUTF());
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new IOException("Header of journal " + file + " is broken", e);
+        }
+    }
+
+    TransferMode getTransferMode() {
+        return transferMode;
+    }
+
+    /**
+     * @return the latest record of file in previous run or {@code null} if it wasn't renamed by it
+     * @throws UncheckedIOException if journal can't be read
+     */
+    Record find(final String oldPath) {
+        return previous.find(oldPath);
+    }
+
+    /**
+     * @return count of files renamed or being renamed by previous run
+     */
+    int size() {
+        return previous.paths;
+    }
+
+    /**
+     * Passes the latest records of files of previous run to {@code action} from the first one.
+     *
+     * @throws UncheckedIOException if journal can't be read
+     */
+    void forEach(final Consumer<Record> action) {
+        for (int i = 0; i < previous.records; i++) {
+            if (!previous.superseded.get(i)) {
+                action.accept(previous.read(i));
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #forEach(Consumer)}, but from the last record.
+     */
+    void forEachReversed(final Consumer<Record> action) {
+        for (int i = previous.records - 1; i >= 0; i--) {
+            if (!previous.superseded.get(i)) {
+                action.accept(previous.read(i));
+            }
+        }
+    }
+
+    /**
+     * Appends intent to rename file, may be called from many threads.
+     * Record is synced with the next batch or by {@link #sync()}.
+     *
+     * @return ordinal of intent for {@link #done(int)} and {@link #failed(int)}
+     */
+    int intend(final String oldPath, final String newName) throws IOException {
+        final int ordinal;
+        final long end;
+        synchronized (this) {
+            ordinal = intents++;
+            final int size = buffer.size();
+            out.writeByte(INTENT);
+            out.writeUTF(oldPath);
+            out.writeUTF(newName);
+            appended += buffer.size() - size;
+            end = appended;
+            if (!isBatchFull()) {
+                return ordinal;
+            }
+        }
+        syncTo(end);
+        return ordinal;
+    }
+
+    /**
+     * Marks intent done after file is renamed, may be called from many threads.
+     * Record is synced with the next batch or after {@link #SYNC_INTERVAL_NS} since the last sync.
+     */
+    void done(final int intent) throws IOException {
+        append(DONE, intent);
+    }
+
+    /**
+     * Marks intent failed if file isn't renamed, so its new name is never touched by rollback.
+     */
+    void failed(final int intent) throws IOException {
+        append(FAILED, intent);
+    }
+
+    private void append(final byte type, final int intent) throws IOException {
+        final long end;
+        synchronized (this) {
+            final int size = buffer.size();
+            out.writeByte(type);
+            out.writeInt(intent);
+            appended += buffer.size() - size;
+            end = appended;
+            if (!isBatchFull()) {
+                return;
+            }
+        }
+        syncTo(end);
+    }
+
+    /**
+     * Syncs records appended so far, may be called from many threads.
+     * Records of threads that call it at once are synced together.
+     */
+    void sync() throws IOException {
+        final long end;
+        synchronized (this) {
+            end = appended;
+        }
+        syncTo(end);
+    }
+
+    private boolean isBatchFull() {
+        return ++unsynced >= SYNC_BATCH || System.nanoTime() - lastSync >= SYNC_INTERVAL_NS;
+    }
+
+    /**
+     * Writes buffered records to disk if records up to {@code end} aren't synced yet.
+     * Records appended while another thread syncs are written by the next sync together.
+     */
+    private void syncTo(final long end) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            final byte[] bytes;
+            synchronized (this) {
+                bytes = buffer.toByteArray();
+                buffer.reset();
+                unsynced = 0;
+                lastSync = System.nanoTime();
+            }
+            write(channel, bytes, synced);
+            channel.force(false);
+            synced += bytes.length;
+        }
+    }
+
+    private static void write(final FileChannel channel, final byte[] bytes, final long position)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Syncs the rest of records and marks run finished, so the next run may replace journal.
+     */
+    void finish() throws IOException {
+        sync();
+        write(channel, new byte[] {FINISHED}, STATE_OFFSET);
+        channel.force(false);
+    }
+
+    /**
+     * Syncs the rest of records.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null && channel.isOpen()) {
+                try {
+                    sync();
+                } finally {
+                    channel.close();
+                }
+            }
+        } finally {
+            previous.close();
+        }
+    }
+
+    /**
+     * Failure to write journal, run is stopped by it: renamed files that aren't journaled
+     * can be neither resumed nor rolled back.
+     */
+    static final class JournalException extends UncheckedIOException {
+
+        private static final long serialVersionUID = 1L;
+
+        JournalException(final IOException cause) {
+            super("Can't write journal: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Rename of file by run.
+     */
+    static final class Record {
+
+        private final String oldPath;
+
+        private final String newName;
+
+        private final boolean done;
+
+        private final boolean failed;
+
+        private Record(final String oldPath, final String newName, final boolean done, final boolean failed) {
+            this.oldPath = oldPath;
+            this.newName = newName;
+            this.done = done;
+            this.failed = failed;
+        }
+
+        String getOldPath() {
+            return oldPath;
+        }
+
+        String getNewName() {
+            return newName;
+        }
+
+        /**
+         * @return {@code false} if run was interrupted before or during rename
+         */
+        boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return {@code true} if file wasn't renamed because of its problem, so new name isn't its file
+         */
+        boolean isFailed() {
+            return failed;
+        }
+    }
+
+    /**
+     * Intents of previous run: offsets of records by ordinals and open addressing table
+     * of the latest intent of every path by hash of path. Paths with equal hashes
+     * are compared by records read from file.
+     */
+    private static final class Index implements Closeable {
+
+        // Channel of journal or null if there is no previous run
+        private final FileChannel reader;
+
+        private final BitSet done = new BitSet();
+
+        private final BitSet failed = new BitSet();
+
+        // Intents followed by another intent of the same path
+        private final BitSet superseded = new BitSet();
+
+        private long[] offsets = new long[0];
+
+        private int records;
+
+        // Ordinal of intent + 1, 0 for empty slot
+        private int[] slots = new int[0];
+
+        private int[] hashes = new int[0];
+
+        private int paths;
+
+        private Index(final FileChannel reader) {
+            this.reader = reader;
+        }
+
+        private void add(final String oldPath, final long offset) {
+            if (records == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(16, records * 2));
+            }
+            offsets[records] = offset;
+            if ((paths + 1) * 2 > slots.length) {
+                grow();
+            }
+            final int hash = hash(oldPath);
+            final int slot = slotOf(oldPath, hash);
+            if (slots[slot] == 0) {
+                paths++;
+            } else {
+                superseded.set(slots[slot] - 1);
+            }
+            slots[slot] = records + 1;
+            hashes[slot] = hash;
+            records++;
+        }
+
+        /**
+         * Marks intent done or failed.
+         *
+         * @return {@code false} if there is no such intent, so record is broken
+         */
+        private boolean mark(final int ordinal, final BitSet state) {
+            if (ordinal < 0 || ordinal >= records) {
+                return false;
+            }
+            state.set(ordinal);
+            return true;
+        }
+
+        private Record find(final String oldPath) {
+            if (paths == 0) {
+                return null;
+            }
+            final int slot = slotOf(oldPath, hash(oldPath));
+            return slots[slot] == 0 ? null : read(slots[slot] - 1);
+        }
+
+        /**
+         * @return slot of intent of {@code oldPath} or empty slot for it
+         */
+        private int slotOf(final String oldPath, final int hash) {
+            final int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0
+                   && (hashes[slot] != hash || !read(slots[slot] - 1).oldPath.equals(oldPath))) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            final int[] oldSlots = slots;
+            final int[] oldHashes = hashes;
+            slots = new int[Math.max(16, oldSlots.length * 2)];
+            hashes = new int[slots.length];
+            final int mask = slots.length - 1;
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] != 0) {
+                    int slot = oldHashes[i] & mask;
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = oldSlots[i];
+                    hashes[slot] = oldHashes[i];
+                }
+            }
+        }
+
+        private static int hash(final String oldPath) {
+            return oldPath.hashCode() * 0x9E3779B9;
+        }
+
+        private synchronized Record read(final int ordinal) {
+            try {
+                reader.position(offsets[ordinal]);
+                // Stream isn't closed, it would close channel
+                final DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(reader), 512));
+                in.readByte();
+                return new Record(in.readUTF(), in.readUTF(), done.get(ordinal), failed.get(ordinal));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = super.read();
+            if (result != -1) {
+                count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int result = super.read(bytes, offset, length);
+            if (result > 0) {
+                count += result;
+            }
+            return result;
+        }
+    }
+}
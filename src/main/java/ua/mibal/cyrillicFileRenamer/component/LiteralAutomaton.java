@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton of literals: all literals found in text by one pass
+ * over its letters, whatever count of literals is.
+ * Automaton is immutable after construction, so it's shared by all threads.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class LiteralAutomaton {
+
+    private final static int[] NO_OUTPUTS = new int[0];
+
+    // Sorted letters of transitions of every node, node 0 is root
+    private final char[][] letters;
+
+    private final int[][] targets;
+
+    // Transitions of root indexed by letter, most letters of text are read in root
+    private final int[] rootTargets;
+
+    // Node of the longest proper suffix of node that is a node too
+    private final int[] fail;
+
+    // Indexes of literals that end at node, including ones of its fail nodes
+    private final int[][] outputs;
+
+    /**
+     * @param literals not empty literals, literal is identified by its index
+     */
+    LiteralAutomaton(final List<String> literals) {
+        final List<Map<Character, Integer>> trie = new ArrayList<>();
+        final List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int i = 0; i < literals.size(); i++) {
+            int node = 0;
+            for (final char ch : literals.get(i).toCharArray()) {
+                Integer next = trie.get(node).get(ch);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(node).put(ch, next);
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            ends.get(node).add(i);
+        }
+        final int size = trie.size();
+        letters = new char[size][];
+        targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            final Map<Character, Integer> transitions = trie.get(node);
+            letters[node] = new char[transitions.size()];
+            targets[node] = new int[transitions.size()];
+            int i = 0;
+            for (final Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                letters[node][i] = transition.getKey();
+                targets[node][i++] = transition.getValue();
+            }
+        }
+        final char[] rootLetters = letters[0];
+        rootTargets = new int[rootLetters.length == 0 ? 0 : rootLetters[rootLetters.length - 1] + 1];
+        for (int i = 0; i < rootLetters.length; i++) {
+            rootTargets[rootLetters[i]] = targets[0][i];
+        }
+        fail = new int[size];
+        outputs = new int[size][];
+        outputs[0] = NO_OUTPUTS;
+        // Fail node is shorter, so breadth-first order finds it first
+        final Queue<Integer> queue = new ArrayDeque<>();
+        for (final int child : targets[0]) {
+            outputs[child] = toArray(ends.get(child), NO_OUTPUTS);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int node = queue.remove();
+            for (int i = 0; i < letters[node].length; i++) {
+                final int child = targets[node][i];
+                fail[child] = next(fail[node], letters[node][i]);
+                outputs[child] = toArray(ends.get(child), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] toArray(final List<Integer> own, final int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        final int[] result = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            result[inherited.length + i] = own.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return node after {@code ch} read in {@code node}, root is 0
+     */
+    int next(int node, final char ch) {
+        while (node != 0) {
+            final int i = Arrays.binarySearch(letters[node], ch);
+            if (i >= 0) {
+                return targets[node][i];
+            }
+            node = fail[node];
+        }
+        return ch < rootTargets.length ? rootTargets[ch] : 0;
+    }
+
+    /**
+     * @return indexes of literals that end at the last letter read to reach {@code node}
+     */
+    int[] outputs(final int node) {
+        return outputs[node];
+    }
+}
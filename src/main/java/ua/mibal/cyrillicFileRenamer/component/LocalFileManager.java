@@ -18,10 +18,26 @@
 package ua.mibal.cyrillicFileRenamer.component;
 
 import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.SecureDirectoryStream;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @author Mykhailo Balakhon
@@ -31,48 +47,205 @@ public class LocalFileManager implements FileManager {
 
     private final String pathExample;
 
+    private final OS os;
+
     private final static String resultingDirName = "renamedToLatin";
 
-    private final static String[] IGNORED_FILE_NAMES = {
-        resultingDirName, "Thumbs.db", "$RECYCLE.BIN", "desktop.ini", "cyrillic-file-renamer-"
-    };
+    // Hidden files, resulting directory, system files of Windows and files of the app
+    private final static List<String> DEFAULT_RULES = List.of(
+        ".*", "*" + resultingDirName + "*", "*Thumbs.db*", "*$RECYCLE.BIN*", "*desktop.ini*", "*cyrillic-file-renamer-*"
+    );
+
+    private final ChannelCopier copier;
 
-    private File resultingDir;
+    private final NameFilter filter;
+
+    private Path resultingDir;
 
     public LocalFileManager(final OS os) {
+        this(os, ChannelCopier.defaults());
+    }
+
+    public LocalFileManager(final OS os, final ChannelCopier copier) {
+        this(os, copier, List.of());
+    }
+
+    /**
+     * @param rules rules of ignored files of {@link NameFilter}, they win over default ones
+     */
+    public LocalFileManager(final OS os, final ChannelCopier copier, final List<String> rules) {
         this.pathExample = os.getPathExample();
+        this.os = os;
+        this.copier = copier;
+        this.filter = NameFilter.compile(DEFAULT_RULES).withRules(rules, "");
     }
 
     @Override
     public File[] getFilesFromDirectory(final String pathToCatalog) {
         final File directory = new File(pathToCatalog);
-        return directory.listFiles((dir, file) -> !isIgnoredFile(file));
+        final NameFilter filter;
+        try {
+            filter = filterOf(directory.toPath(), "", this.filter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return directory.listFiles(file -> !filter.isIgnored("", file.getName(),
+            filter.hasDirectoryRules() && file.isDirectory()));
     }
 
-    private boolean isIgnoredFile(final String fileName) {
-        if (fileName.charAt(0) == '.') {
-            return true;
-        }
-        for (final String ignoredFileName : IGNORED_FILE_NAMES) {
-            if (fileName.contains(ignoredFileName)) {
-                return true;
+    @Override
+    public void forEachFile(final String pathToCatalog, final FileConsumer action) {
+        final Path root = Path.of(pathToCatalog);
+        try (final DirectoryStream<Path> directory = Files.newDirectoryStream(root)) {
+            final NameFilter filter = filterOf(root, "", this.filter);
+            for (final Path path : directory) {
+                final String name = path.getFileName().toString();
+                if (!filter.hasDirectoryRules() && filter.isIgnored("", name, false)) {
+                    continue;
+                }
+                final BasicFileAttributes attributes = readAttributes(directory, path);
+                if (!filter.hasDirectoryRules() || !filter.isIgnored("", name, attributes.isDirectory())) {
+                    action.accept(path, attributes);
+                }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param relativeDirectory path of directory relative to root separated by '/'
+     * @return filter with rules of ignore file of directory if it has one
+     */
+    private static NameFilter filterOf(final Path directory, final String relativeDirectory,
+                                       final NameFilter filter) throws IOException {
+        final Path ignoreFile = directory.resolve(NameFilter.IGNORE_FILE);
+        try {
+            return filter.withRules(Files.readAllLines(ignoreFile, UTF_8), relativeDirectory);
+        } catch (NoSuchFileException e) {
+            return filter;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid rule in " + ignoreFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads attributes relative to open directory if file system supports it,
+     * so path of file isn't resolved again.
+     */
+    private static BasicFileAttributes readAttributes(final DirectoryStream<Path> directory,
+                                                      final Path path) throws IOException {
+        if (directory instanceof SecureDirectoryStream) {
+            return ((SecureDirectoryStream<Path>) directory)
+                .getFileAttributeView(path.getFileName(), BasicFileAttributeView.class, NOFOLLOW_LINKS)
+                .readAttributes();
+        }
+        return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    }
+
+    /**
+     * Walks subdirectories in parallel, every directory is listed by its own task
+     * of {@link ForkJoinPool}, so idle workers steal subdirectories of busy ones.
+     * Failure to list root directory is thrown as {@link UncheckedIOException}.
+     */
+    @Override
+    public void forEachFileInTree(final String pathToCatalog,
+                                  final FileConsumer action,
+                                  final DirectoryFailureConsumer failure) {
+        final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.invoke(new DirectoryTask(Path.of(pathToCatalog), "", filter, action, failure));
+        } finally {
+            pool.shutdown();
         }
-        return false;
     }
 
     @Override
     public void createResultingDirectory(final String pathToCurrentDir) {
         final File file = new File(pathToCurrentDir + "/" + resultingDirName);
         file.mkdir();
-        resultingDir = file;
+        resultingDir = file.toPath();
+    }
+
+    @Override
+    public void copyRenamedFile(final Path sourceFile,
+                                final String newName) throws IOException {
+        copier.copy(sourceFile, resultingFileOf(newName));
     }
 
+    /**
+     * Falls back to copy if link fails for any reason except existing target,
+     * e.g. across devices or on file system without hard links.
+     */
     @Override
-    public void copyRenamedFile(final File sourceFile,
+    public void linkRenamedFile(final Path sourceFile,
                                 final String newName) throws IOException {
-        Files.copy(sourceFile.toPath(),
-            Path.of((resultingDir.toPath() + "/" + newName)));
+        final Path target = resultingFileOf(newName);
+        try {
+            Files.createLink(target, sourceFile);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            copier.copy(sourceFile, target);
+        }
+    }
+
+    @Override
+    public boolean linkRenamedDuplicate(final String originalName,
+                                        final String newName) throws IOException {
+        final Path target = resultingFileOf(newName);
+        try {
+            Files.createLink(target, Path.of(resultingDir + "/" + originalName));
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void deleteRenamedFile(final String name) throws IOException {
+        Files.deleteIfExists(Path.of(resultingDir + "/" + name));
+    }
+
+    private Path resultingFileOf(final String newName) throws IOException {
+        final Path target = Path.of(resultingDir + "/" + newName);
+        if (newName.indexOf('/') != -1) {
+            Files.createDirectories(target.getParent());
+        }
+        return target;
+    }
+
+    /**
+     * Rename on Windows fails by itself if target exists. Rename on other systems replaces
+     * existing target, so file is hard linked with new name, that fails if target exists,
+     * and then its old name is deleted. On file systems without hard links existing target
+     * is checked before atomic move. Existing target that is the same file as source was linked
+     * by rename interrupted before deletion of old name, so rename is completed.
+     */
+    @Override
+    public void moveRenamedFile(final Path sourceFile,
+                                final String newName) throws IOException {
+        final Path target = sourceFile.resolveSibling(newName);
+        if (os == OS.WINDOWS) {
+            Files.move(sourceFile, target);
+            return;
+        }
+        try {
+            Files.createLink(target, sourceFile);
+        } catch (FileAlreadyExistsException e) {
+            if (!Files.isSameFile(sourceFile, target)) {
+                throw e;
+            }
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            if (Files.exists(target, NOFOLLOW_LINKS)) {
+                throw new FileAlreadyExistsException(target.toString());
+            }
+            Files.move(sourceFile, target, ATOMIC_MOVE);
+            return;
+        }
+        Files.delete(sourceFile);
     }
 
     @Override
@@ -108,4 +281,79 @@ public class LocalFileManager implements FileManager {
     public String getPathExample() {
         return pathExample;
     }
+
+    private final class DirectoryTask extends RecursiveAction {
+
+        private final static long serialVersionUID = 1L;
+
+        private final Path directory;
+
+        // Path relative to root separated by '/', empty for root
+        private final String relativeDirectory;
+
+        // Rules of parent directories
+        private final NameFilter filter;
+
+        private final FileConsumer action;
+
+        private final DirectoryFailureConsumer failure;
+
+        private DirectoryTask(final Path directory, final String relativeDirectory,
+                              final NameFilter filter, final FileConsumer action,
+                              final DirectoryFailureConsumer failure) {
+            this.directory = directory;
+            this.relativeDirectory = relativeDirectory;
+            this.filter = filter;
+            this.action = action;
+            this.failure = failure;
+        }
+
+        /**
+         * Files of subdirectory listed before failure are passed anyway,
+         * its subdirectories forked before failure are walked too.
+         */
+
+        @Override
+        protected void compute() {
+            final List<DirectoryTask> subdirectories = new ArrayList<>();
+            try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                final NameFilter filter = filterOf(directory, relativeDirectory, this.filter);
+                for (final Path entry : entries) {
+                    final String name = entry.getFileName().toString();
+                    // Attributes aren't read for entries ignored by name
+                    if (!filter.hasDirectoryRules() && filter.isIgnored(relativeDirectory, name, false)) {
+                        continue;
+                    }
+                    final BasicFileAttributes attributes = readAttributes(entries, entry);
+                    if (filter.hasDirectoryRules()
+                        && filter.isIgnored(relativeDirectory, name, attributes.isDirectory())) {
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        final DirectoryTask subdirectory = new DirectoryTask(entry,
+                            relativeDirectory.isEmpty() ? name : relativeDirectory + "/" + name,
+                            filter, action, failure);
+                        subdirectory.fork();
+                        subdirectories.add(subdirectory);
+                    } else {
+                        action.accept(entry, attributes);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            } catch (DirectoryIteratorException e) {
+                fail(e.getCause());
+            }
+            for (final DirectoryTask subdirectory : subdirectories) {
+                subdirectory.join();
+            }
+        }
+
+        private void fail(final IOException e) {
+            if (relativeDirectory.isEmpty()) {
+                throw new UncheckedIOException(e);
+            }
+            failure.accept(directory, e);
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Renamed files of previous run: path of source file relative to renamed directory,
+ * its size and modification time and name of its renamed file.
+ * Files with the same size and modification time are skipped by the next run.
+ *
+ * <p>Manifest is saved to binary file: header and then entries one by one.
+ * Only files renamed or skipped by the current run are saved, so files deleted
+ * from directory leave manifest too.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class Manifest {
+
+    // "CFRM" and version of format
+    private final static int MAGIC = 0x4346524D;
+
+    private final static int VERSION = 1;
+
+    private final Map<String, Entry> previous;
+
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private Manifest(final Map<String, Entry> previous) {
+        this.previous = previous;
+    }
+
+    static Manifest empty() {
+        return new Manifest(Map.of());
+    }
+
+    /**
+     * @return manifest of file or empty one if file doesn't exist
+     * @throws IOException if file can't be read or isn't a manifest
+     */
+    static Manifest load(final Path file) throws IOException {
+        final Map<String, Entry> entries = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported format of manifest " + file);
+            }
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String path = in.readUTF();
+                entries.put(path, new Entry(in.readLong(), in.readLong(), in.readUTF()));
+            }
+        } catch (NoSuchFileException e) {
+            return empty();
+        } catch (EOFException e) {
+            throw new IOException("Manifest " + file + " is truncated", e);
+        }
+        return new Manifest(entries);
+    }
+
+    /**
+     * Keeps entry of unchanged file for the next run.
+     *
+     * @param attributes attributes of file or {@code null} if they are unknown
+     * @return {@code true} if file was renamed before and isn't changed since then
+     */
+    boolean keepIfUnchanged(final String path, final BasicFileAttributes attributes) {
+        final Entry entry = previous.get(path);
+        if (entry == null || attributes == null
+            || entry.size != attributes.size()
+            || entry.modified != attributes.lastModifiedTime().toMillis()) {
+            return false;
+        }
+        current.put(path, entry);
+        return true;
+    }
+
+    /**
+     * @return name of renamed file from previous run or {@code null} if file wasn't renamed
+     */
+    String previousName(final String path) {
+        final Entry entry = previous.get(path);
+        return entry == null ? null : entry.newName;
+    }
+
+    /**
+     * Passes names of renamed files of previous run to {@code action}.
+     */
+    void forEachPreviousName(final Consumer<String> action) {
+        previous.values().forEach(entry -> action.accept(entry.newName));
+    }
+
+    /**
+     * Keeps entries of previous run for the next one except entries of {@code paths}.
+     */
+    void keepAllExcept(final Predicate<String> paths) {
+        previous.forEach((path, entry) -> {
+            if (!paths.test(path)) {
+                current.put(path, entry);
+            }
+        });
+    }
+
+    /**
+     * Records renamed file, may be called from many threads.
+     */
+    void record(final String path, final BasicFileAttributes attributes, final String newName) {
+        if (attributes != null) {
+            current.put(path, new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), newName));
+        }
+    }
+
+    /**
+     * Writes entries of the current run to temporary file and replaces {@code file} by it,
+     * so interrupted save keeps previous manifest.
+     */
+    void save(final Path file) throws IOException {
+        final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(current.size());
+            for (final Map.Entry<String, Entry> entry : current.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().modified);
+                out.writeUTF(entry.getValue().newName);
+            }
+        }
+        Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private static final class Entry {
+
+        private final long size;
+
+        // Milliseconds since epoch
+        private final long modified;
+
+        private final String newName;
+
+        private Entry(final long size, final long modified, final String newName) {
+            this.size = size;
+            this.modified = modified;
+            this.newName = newName;
+        }
+    }
+}
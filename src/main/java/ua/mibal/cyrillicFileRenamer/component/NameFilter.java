@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Rules of ignored files in gitignore style, compiled once, so every entry of directory
+ * is checked by one pass over its name whatever count of rules is.
+ *
+ * <p>Rule is a glob of name, like {@code *.tmp}, or a glob of path relative to directory
+ * of rule if it contains '/', like {@code photos/**}. Rule with {@code re:} prefix is
+ * a regular expression of name or path. Rule with '!' prefix includes entries ignored
+ * by rules before it, rule with '/' at the end matches directories only. The last
+ * matching rule wins, lines starting with '#' are comments.
+ *
+ * <p>Names without wildcards are looked up in a map, names with '*' only at their
+ * ends are found by {@link LiteralAutomaton} and only other rules are matched as
+ * patterns. A pattern is matched only if it comes after the last matching rule.
+ * A few literal rules that only ignore entries, like default ones, are scanned
+ * one by one instead, that is faster than automaton for them.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class NameFilter {
+
+    /**
+     * File with rules of its directory and all its subdirectories.
+     */
+    public final static String IGNORE_FILE = ".renamerignore";
+
+    private final static String REGEX_PREFIX = "re:";
+
+    private final static int[] NO_RULES = new int[0];
+
+    // Literal rules scanned one by one if there are at most so many of them
+    private final static int MAX_SCANNED_RULES = 8;
+
+    private final List<Rule> rules;
+
+    // Indexes of rules of every name in descending order
+    private final int[] anyNameRules;
+
+    private final Map<String, int[]> exactNameRules;
+
+    private final LiteralAutomaton literals;
+
+    // Rules of literals of automaton by index of literal
+    private final Rule[] literalRules;
+
+    // In descending order of indexes
+    private final Rule[] patternRules;
+
+    // All rules if they are scanned one by one or null
+    private final Rule[] scannedRules;
+
+    private final boolean directoryRules;
+
+    private NameFilter(final List<Rule> rules) {
+        this.rules = rules;
+        final List<Integer> any = new ArrayList<>();
+        final Map<String, List<Integer>> exact = new HashMap<>();
+        final List<String> literalList = new ArrayList<>();
+        final List<Rule> literalRuleList = new ArrayList<>();
+        final List<Rule> patterns = new ArrayList<>();
+        for (final Rule rule : rules) {
+            switch (rule.kind) {
+                case ANY:
+                    any.add(rule.index);
+                    break;
+                case EXACT:
+                    exact.computeIfAbsent(rule.literal, name -> new ArrayList<>()).add(rule.index);
+                    break;
+                case PREFIX:
+                case SUFFIX:
+                case SUBSTRING:
+                    literalList.add(rule.literal);
+                    literalRuleList.add(rule);
+                    break;
+                default:
+                    patterns.add(rule);
+                    break;
+            }
+        }
+        this.anyNameRules = descending(any);
+        this.exactNameRules = new HashMap<>();
+        exact.forEach((name, indexes) -> exactNameRules.put(name, descending(indexes)));
+        this.literals = literalList.isEmpty() ? null : new LiteralAutomaton(literalList);
+        this.literalRules = literalRuleList.toArray(new Rule[0]);
+        patterns.sort(Comparator.comparingInt((Rule rule) -> rule.index).reversed());
+        this.patternRules = patterns.toArray(new Rule[0]);
+        this.scannedRules = rules.size() <= MAX_SCANNED_RULES && rules.stream().allMatch(Rule::isScanned)
+            ? rules.toArray(new Rule[0])
+            : null;
+        this.directoryRules = rules.stream().anyMatch(rule -> rule.directoryOnly);
+    }
+
+    private static int[] descending(final List<Integer> indexes) {
+        final int[] result = new int[indexes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indexes.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    /**
+     * @param rules lines of rules of root directory
+     * @throws IllegalArgumentException if a rule is an invalid regular expression
+     */
+    public static NameFilter compile(final List<String> rules) {
+        return new NameFilter(List.of()).withRules(rules, "");
+    }
+
+    /**
+     * @param rules     lines of rules of {@code directory}, they win over rules of this filter
+     * @param directory path of directory relative to root separated by '/', empty for root
+     * @return filter with rules of this one and {@code rules}
+     * @throws IllegalArgumentException if a rule is an invalid regular expression
+     */
+    public NameFilter withRules(final List<String> rules, final String directory) {
+        final List<Rule> result = new ArrayList<>(this.rules);
+        for (final String line : rules) {
+            final Rule rule = Rule.parse(line, directory, result.size());
+            if (rule != null) {
+                result.add(rule);
+            }
+        }
+        return result.size() == this.rules.size() ? this : new NameFilter(List.copyOf(result));
+    }
+
+    /**
+     * @param directory path of directory of entry relative to root separated by '/', empty for root
+     * @return {@code true} if the last rule that matches entry ignores it
+     */
+    public boolean isIgnored(final String directory, final String name, final boolean isDirectory) {
+        if (scannedRules != null) {
+            for (final Rule rule : scannedRules) {
+                if (rule.matchesLiteral(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int best = firstApplicable(anyNameRules, isDirectory, -1);
+        final int[] exact = exactNameRules.isEmpty() ? null : exactNameRules.get(name);
+        if (exact != null) {
+            best = firstApplicable(exact, isDirectory, best);
+        }
+        if (literals != null) {
+            final int length = name.length();
+            int node = 0;
+            for (int i = 0; i < length; i++) {
+                node = literals.next(node, name.charAt(i));
+                for (final int literal : literals.outputs(node)) {
+                    final Rule rule = literalRules[literal];
+                    if (rule.index > best && rule.appliesTo(isDirectory)
+                        && (rule.kind != Kind.PREFIX || i + 1 == rule.literal.length())
+                        && (rule.kind != Kind.SUFFIX || i + 1 == length)) {
+                        best = rule.index;
+                    }
+                }
+            }
+        }
+        String path = null;
+        for (final Rule rule : patternRules) {
+            if (rule.index <= best) {
+                break;
+            }
+            if (!rule.appliesTo(isDirectory)) {
+                continue;
+            }
+            if (rule.kind == Kind.PATH && path == null) {
+                path = directory.isEmpty() ? name : directory + "/" + name;
+            }
+            if (rule.pattern.matcher(rule.kind == Kind.PATH ? path : name).matches()) {
+                best = rule.index;
+                break;
+            }
+        }
+        return best >= 0 && !rules.get(best).include;
+    }
+
+    /**
+     * @return {@code false} if entries are ignored by their names and paths only,
+     * so {@code isDirectory} of {@link #isIgnored(String, String, boolean)} doesn't matter
+     */
+    public boolean hasDirectoryRules() {
+        return directoryRules;
+    }
+
+    private int firstApplicable(final int[] indexes, final boolean isDirectory, final int best) {
+        for (final int index : indexes) {
+            if (index <= best) {
+                break;
+            }
+            if (rules.get(index).appliesTo(isDirectory)) {
+                return index;
+            }
+        }
+        return best;
+    }
+
+    private enum Kind {
+
+        ANY, EXACT, PREFIX, SUFFIX, SUBSTRING, NAME, PATH
+    }
+
+    private static final class Rule {
+
+        private final int index;
+
+        private final boolean include;
+
+        private final boolean directoryOnly;
+
+        private final Kind kind;
+
+        // Name of EXACT rule or literal of rule found by automaton
+        private final String literal;
+
+        // Pattern of NAME and PATH rules
+        private final Pattern pattern;
+
+        private Rule(final int index, final boolean include, final boolean directoryOnly,
+                     final Kind kind, final String literal, final Pattern pattern) {
+            this.index = index;
+            this.include = include;
+            this.directoryOnly = directoryOnly;
+            this.kind = kind;
+            this.literal = literal;
+            this.pattern = pattern;
+        }
+
+        /**
+         * @return rule or {@code null} if line is empty or comment
+         */
+        private static Rule parse(final String line, final String directory, final int index) {
+            String rule = line.strip();
+            if (rule.isEmpty() || rule.startsWith("#")) {
+                return null;
+            }
+            final boolean include = rule.startsWith("!");
+            if (include) {
+                rule = rule.substring(1);
+            }
+            final boolean directoryOnly = rule.length() > 1 && rule.endsWith("/");
+            if (directoryOnly) {
+                rule = rule.substring(0, rule.length() - 1);
+            }
+            final String prefix = directory.isEmpty() ? "" : Pattern.quote(directory + "/");
+            if (rule.startsWith(REGEX_PREFIX)) {
+                final String regex = rule.substring(REGEX_PREFIX.length());
+                return regex.indexOf('/') == -1
+                    ? new Rule(index, include, directoryOnly, Kind.NAME, null, Pattern.compile(regex))
+                    : new Rule(index, include, directoryOnly, Kind.PATH, null,
+                    Pattern.compile(prefix + "(?:" + regex + ")"));
+            }
+            if (rule.indexOf('/') != -1) {
+                final String glob = rule.startsWith("/") ? rule.substring(1) : rule;
+                return new Rule(index, include, directoryOnly, Kind.PATH, null,
+                    Pattern.compile(prefix + regexOf(glob)));
+            }
+            if (rule.equals("*") || rule.equals("**")) {
+                return new Rule(index, include, directoryOnly, Kind.ANY, null, null);
+            }
+            final String exact = literalOf(rule);
+            if (exact != null) {
+                return new Rule(index, include, directoryOnly, Kind.EXACT, exact, null);
+            }
+            final boolean leadingStar = rule.startsWith("*");
+            final boolean trailingStar = rule.endsWith("*") && !rule.endsWith("\\*");
+            final String literal = literalOf(rule.substring(leadingStar ? 1 : 0,
+                Math.max(leadingStar ? 1 : 0, rule.length() - (trailingStar ? 1 : 0))));
+            if (literal != null && !literal.isEmpty()) {
+                final Kind kind = !leadingStar ? Kind.PREFIX : trailingStar ? Kind.SUBSTRING : Kind.SUFFIX;
+                return new Rule(index, include, directoryOnly, kind, literal, null);
+            }
+            return new Rule(index, include, directoryOnly, Kind.NAME, null, Pattern.compile(regexOf(rule)));
+        }
+
+        private boolean appliesTo(final boolean isDirectory) {
+            return !directoryOnly || isDirectory;
+        }
+
+        /**
+         * @return {@code true} if rule ignores entries by literal of their names,
+         * so the first matching rule wins as well as the last one
+         */
+        private boolean isScanned() {
+            return literal != null && !include && !directoryOnly;
+        }
+
+        private boolean matchesLiteral(final String name) {
+            switch (kind) {
+                case EXACT:
+                    return name.equals(literal);
+                case PREFIX:
+                    return name.startsWith(literal);
+                case SUFFIX:
+                    return name.endsWith(literal);
+                default:
+                    return name.contains(literal);
+            }
+        }
+
+        /**
+         * @return glob without escapes or {@code null} if glob has wildcards
+         */
+        private static String literalOf(final String glob) {
+            final StringBuilder literal = new StringBuilder(glob.length());
+            for (int i = 0; i < glob.length(); i++) {
+                final char ch = glob.charAt(i);
+                if (ch == '\\' && i + 1 < glob.length()) {
+                    literal.append(glob.charAt(++i));
+                } else if (ch == '*' || ch == '?' || ch == '[') {
+                    return null;
+                } else {
+                    literal.append(ch);
+                }
+            }
+            return literal.toString();
+        }
+
+        /**
+         * '*' and '?' don't match '/', '**' matches any path and '**&#47;' any directories.
+         */
+        private static String regexOf(final String glob) {
+            final StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < glob.length(); i++) {
+                final char ch = glob.charAt(i);
+                switch (ch) {
+                    case '*':
+                        if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                            i++;
+                            if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                                i++;
+                                regex.append("(?:.*/)?");
+                            } else {
+                                regex.append(".*");
+                            }
+                        } else {
+                            regex.append("[^/]*");
+                        }
+                        break;
+                    case '?':
+                        regex.append("[^/]");
+                        break;
+                    case '[':
+                        final int end = glob.indexOf(']', i + 2);
+                        if (end == -1) {
+                            regex.append("\\[");
+                            break;
+                        }
+                        final String letters = glob.substring(i + 1, end);
+                        regex.append('[')
+                            .append(letters.startsWith("!") ? "^" + letters.substring(1) : letters)
+                            .append(']');
+                        i = end;
+                        break;
+                    case '\\':
+                        if (i + 1 < glob.length()) {
+                            appendLiteral(regex, glob.charAt(++i));
+                        }
+                        break;
+                    default:
+                        appendLiteral(regex, ch);
+                        break;
+                }
+            }
+            return regex.toString();
+        }
+
+        private static void appendLiteral(final StringBuilder regex, final char ch) {
+            if (!Character.isLetterOrDigit(ch)) {
+                regex.append('\\');
+            }
+            regex.append(ch);
+        }
+    }
+}
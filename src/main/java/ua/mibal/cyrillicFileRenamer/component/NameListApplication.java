@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.component.translators.AbstractLetterTranslator;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Translates list of names, one per line, to another file in the same order.
+ * Names that aren't translated are written as is.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public class NameListApplication {
+
+    private final DataPrinter dataPrinter;
+
+    private final Path namesFile;
+
+    private final Path outputFile;
+
+    private final AbstractLetterTranslator letterTranslator;
+
+    public NameListApplication(final DataPrinter dataPrinter,
+                               final Path namesFile,
+                               final Path outputFile,
+                               final AbstractLetterTranslator letterTranslator) {
+        this.dataPrinter = requireNonNull(dataPrinter);
+        this.namesFile = requireNonNull(namesFile);
+        this.outputFile = requireNonNull(outputFile);
+        this.letterTranslator = requireNonNull(letterTranslator);
+    }
+
+    public void start() {
+        final long start = System.nanoTime();
+        final List<String> names;
+        try {
+            names = Files.readAllLines(namesFile, UTF_8);
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format("Can't read names from '%s': %s", namesFile, e));
+            return;
+        }
+        final List<TranslationResult> results = letterTranslator.translateAll(names);
+
+        int translated = 0;
+        int unsupported = 0;
+        try (final BufferedWriter writer = Files.newBufferedWriter(outputFile, UTF_8)) {
+            for (final TranslationResult result : results) {
+                switch (result.getStatus()) {
+                    case TRANSLATED:
+                        translated++;
+                        break;
+                    case UNSUPPORTED:
+                        unsupported++;
+                        break;
+                    default:
+                        break;
+                }
+                writer.write(result.getName());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format("Can't write names to '%s': %s", outputFile, e));
+            return;
+        }
+        dataPrinter.printInfoMessage(format(
+            "Names: %d, translated: %d, unchanged: %d, unsupported: %d (%d ms)",
+            results.size(), translated, results.size() - translated - unsupported, unsupported,
+            (System.nanoTime() - start) / 1_000_000));
+        dataPrinter.printInfoMessage("Result: " + outputFile);
+    }
+}
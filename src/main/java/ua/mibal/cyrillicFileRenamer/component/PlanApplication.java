@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
+import ua.mibal.cyrillicFileRenamer.model.programMode.RenameOptions;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renames files by plan written by {@link Application} with plan file,
+ * without listing of directory and translation of names. Files deleted or changed
+ * since plan was written are reported as problems, renames are journaled as by {@link Application},
+ * so they can be rolled back.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public class PlanApplication {
+
+    private final DataPrinter dataPrinter;
+
+    private final FileManager fileManager;
+
+    private final Path planFile;
+
+    private final Concurrency concurrency;
+
+    public PlanApplication(final DataPrinter dataPrinter,
+                           final FileManager fileManager,
+                           final Path planFile,
+                           final Concurrency concurrency) {
+        this.dataPrinter = requireNonNull(dataPrinter);
+        this.fileManager = requireNonNull(fileManager);
+        this.planFile = requireNonNull(planFile);
+        this.concurrency = requireNonNull(concurrency);
+    }
+
+    public void start() {
+        final Map<String, Exception> logList = new ConcurrentHashMap<>();
+        final int files;
+        try (final RenamePlan.Reader plan = RenamePlan.open(planFile)) {
+            dataPrinter.printInfoMessage("Path: " + plan.getRoot());
+            if (plan.getTransferMode() != TransferMode.MOVE) {
+                fileManager.createResultingDirectory(plan.getRoot());
+            }
+            final RenameOptions options = RenameOptions.defaults()
+                .withConcurrency(concurrency)
+                .withTransferMode(plan.getTransferMode());
+            final Path journalFile = Path.of(plan.getRoot(), Application.JOURNAL_NAME);
+            final Journal journal = Application.createJournal(dataPrinter, journalFile, plan.getTransferMode());
+            if (journal == null) {
+                return;
+            }
+            // Names in plan are translated already
+            final RenamePipeline pipeline = new RenamePipeline(fileManager, null, options, logList, null, journal);
+            try {
+                files = pipeline.apply(plan);
+                Application.finishJournal(dataPrinter, journal, journalFile);
+            } catch (RuntimeException e) {
+                Application.printRenamingFailure(dataPrinter, journalFile, e);
+                dataPrinter.outInfo(pipeline.getListedFiles(), logList);
+                dataPrinter.exit();
+                return;
+            } finally {
+                Application.closeJournal(dataPrinter, journal, journalFile);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            dataPrinter.printErrorMessage(format("Can't read plan '%s': %s", planFile, e));
+            return;
+        }
+        dataPrinter.outInfo(files, logList);
+        dataPrinter.exit();
+    }
+}
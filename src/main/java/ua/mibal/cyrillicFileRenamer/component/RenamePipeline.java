@@ -0,0 +1,808 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.component.FileManager.FileConsumer;
+import ua.mibal.cyrillicFileRenamer.component.translators.AbstractLetterTranslator;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
+import ua.mibal.cyrillicFileRenamer.model.programMode.RenameOptions;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status.UNCHANGED;
+import static java.lang.String.format;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streaming rename of directory: lister → translator → copiers.
+ * Stages are connected by bounded queues, so the first file is copied while
+ * directory is still read and memory doesn't depend on directory size.
+ * Full queue blocks previous stage until next one catches up.
+ * Only in-place renames are held by translator until directory is read, because names
+ * of files listed later are taken before new names, at most {@link #MAX_UNCLAIMED} of them.
+ * Names of files renamed by previous incremental run are known from manifest in advance.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class RenamePipeline {
+
+    private final static int QUEUE_CAPACITY = 1024;
+
+    // Names are translated in batches to prescan them together
+    private final static int TRANSLATION_BATCH = 256;
+
+    // In-place renames held until directory is read, about 50 MiB, the next ones are claimed at once
+    // and collide with names of files listed later on disk only, such files aren't renamed
+    private final static int MAX_UNCLAIMED = 1 << 17;
+
+    // In-place renames journaled at once, their intents are synced to disk together before files are moved
+    private final static int MOVE_BATCH = 256;
+
+    // Stages waiting for queue check this often if another stage is failed
+    private final static long WAIT_TIMEOUT_MS = 100;
+
+    private final static ListedFile END_OF_FILES = new ListedFile(Path.of(""), null);
+
+    private final static Rename END_OF_RENAMES = new Rename(END_OF_FILES, "", "");
+
+    private final FileManager fileManager;
+
+    private final AbstractLetterTranslator letterTranslator;
+
+    private final TransferMode transferMode;
+
+    private final boolean recursive;
+
+    // Threads that take renames from the queue
+    private final int copiers;
+
+    // Limit of files copied at once on own threads or null if copiers copy files themselves
+    private final ConcurrencyLimit copyLimit;
+
+    private final Map<String, Exception> logList;
+
+    // Renamed files of previous run or null if all files are renamed
+    private final Manifest manifest;
+
+    private final AtomicInteger listedFiles = new AtomicInteger();
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    // Journal of renamed files or null if they aren't journaled
+    private final Journal journal;
+
+    // Files renamed by interrupted run are skipped and their incomplete results are replaced
+    private final boolean resume;
+
+    private final AtomicInteger resumed = new AtomicInteger();
+
+    // Links copies of the same content or null if every file is copied
+    private final Deduplicator deduplicator;
+
+    // New names of files, used only by translator
+    private final CollisionIndex collisions;
+
+    // Renames with intended paths that wait until all names are reserved, null if names are claimed at once
+    private List<Rename> unclaimed;
+
+    private final BlockingQueue<ListedFile> listed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final BlockingQueue<Rename> translated = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // Translated relative paths of directories, used only by translator
+    private final Map<Path, String> translatedDirectories = new HashMap<>();
+
+    private volatile boolean failed;
+
+    // Root of the tree or null if only files of directory are renamed
+    private Path root;
+
+    // Plan for renames or null if files are renamed
+    private RenamePlan.Writer plan;
+
+    /**
+     * @param logList  thread-safe map for problems of files
+     * @param manifest unchanged files of it are skipped and renamed ones are recorded to it,
+     *                 {@code null} if all files are renamed
+     * @param journal  renames are appended to it before and after files are renamed, files renamed
+     *                 by its previous run are skipped and its unfinished renames are made again
+     *                 on resume, {@code null} if files aren't journaled
+     */
+    RenamePipeline(final FileManager fileManager,
+                   final AbstractLetterTranslator letterTranslator,
+                   final RenameOptions options,
+                   final Map<String, Exception> logList,
+                   final Manifest manifest,
+                   final Journal journal) {
+        this.fileManager = fileManager;
+        this.letterTranslator = letterTranslator;
+        this.transferMode = options.getTransferMode();
+        this.recursive = options.isRecursive();
+        this.collisions = new CollisionIndex(options.isIgnoreCase());
+        final Concurrency concurrency = options.getConcurrency();
+        switch (concurrency.getMode()) {
+            case THREAD_PER_FILE:
+                this.copiers = 1;
+                this.copyLimit = new ConcurrencyLimit(concurrency.getLimit());
+                break;
+            case ADAPTIVE:
+                this.copiers = 1;
+                this.copyLimit = new AimdConcurrencyLimit(concurrency.getLimit());
+                break;
+            default:
+                this.copiers = concurrency.getLimit();
+                this.copyLimit = null;
+                break;
+        }
+        this.logList = logList;
+        this.manifest = manifest;
+        this.journal = journal;
+        this.resume = options.isResume() && journal != null;
+        this.deduplicator = options.isDedup() && transferMode == TransferMode.COPY
+            ? new Deduplicator(fileManager)
+            : null;
+        if (resume) {
+            // Names of unfinished renames are reserved too, they are renamed to them again,
+            // failed renames are translated again as files that aren't journaled
+            journal.forEach(record -> {
+                if (!record.isFailed()) {
+                    final String oldPath = record.getOldPath();
+                    collisions.reserve(transferMode == TransferMode.MOVE
+                        ? oldPath.substring(0, oldPath.lastIndexOf('/') + 1) + record.getNewName()
+                        : record.getNewName());
+                }
+            });
+        }
+        if (manifest != null) {
+            // Skipped files keep names, files deleted since previous run leave their renamed files
+            manifest.forEachPreviousName(collisions::reserve);
+        }
+        // Moved files keep names that can be claimed before they are listed
+        this.unclaimed = transferMode == TransferMode.MOVE ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Lists directory in the calling thread and waits for all files to be renamed.
+     *
+     * @return count of listed files
+     */
+    int run(final String pathToCatalog) {
+        root = recursive ? Path.of(pathToCatalog) : null;
+        runStages(true, () -> {
+            final FileConsumer lister = (file, attributes) -> {
+                listedFiles.incrementAndGet();
+                put(listed, new ListedFile(file, attributes));
+            };
+            if (recursive) {
+                fileManager.forEachFileInTree(pathToCatalog, lister,
+                    (directory, e) -> logList.put(pathOf(root.relativize(directory)), e));
+            } else {
+                fileManager.forEachFile(pathToCatalog, lister);
+            }
+            put(listed, END_OF_FILES);
+        });
+        return listedFiles.get();
+    }
+
+    /**
+     * Same as {@link #run(String)}, but renames are written to {@code plan} instead of files.
+     */
+    int plan(final String pathToCatalog, final RenamePlan.Writer plan) {
+        this.plan = plan;
+        return run(pathToCatalog);
+    }
+
+    /**
+     * Renames files of saved {@code plan} without listing and translation.
+     *
+     * @return count of renames in plan
+     */
+    int apply(final RenamePlan.Reader plan) {
+        runStages(false, () -> {
+            plan.forEachRename((sourceFile, oldName, newName, size) -> {
+                listedFiles.incrementAndGet();
+                put(translated, new Rename(new ListedFile(sourceFile, null), oldName, newName, size));
+            });
+            endRenames();
+        });
+        return listedFiles.get();
+    }
+
+    /**
+     * Starts stages after the first one and runs the first one in the calling thread.
+     *
+     * @param translate {@code true} if {@code first} stage lists files to translate
+     *                  or {@code false} if it passes translated renames to copiers
+     */
+    private void runStages(final boolean translate, final Runnable first) {
+        final ExecutorService executor = Executors.newFixedThreadPool(copiers + 1);
+        final List<Future<?>> stages = new ArrayList<>();
+        try {
+            if (translate) {
+                stages.add(executor.submit(() -> stage(this::translate)));
+            }
+            for (int i = 0; i < copiers; i++) {
+                stages.add(executor.submit(() -> stage(copyLimit == null ? this::copy : this::copyThreadPerFile)));
+            }
+            try {
+                first.run();
+            } catch (CancellationException e) {
+                if (!failed) {
+                    throw e;
+                }
+                // Failed stage is reported below
+            }
+            awaitStages(stages);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void stage(final Runnable stage) {
+        try {
+            stage.run();
+        } catch (RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Rethrows the first failure of stages, other stages are cancelled because of it.
+     */
+    private static void awaitStages(final List<Future<?>> stages) {
+        Throwable failure = null;
+        for (final Future<?> stage : stages) {
+            try {
+                stage.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Renaming is interrupted");
+            } catch (ExecutionException e) {
+                if (failure == null || failure instanceof CancellationException) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Renaming is failed", failure);
+        }
+    }
+
+    private void translate() {
+        final List<ListedFile> batch = new ArrayList<>(TRANSLATION_BATCH);
+        try {
+            boolean end = false;
+            while (!end) {
+                batch.add(take(listed));
+                listed.drainTo(batch, TRANSLATION_BATCH - 1);
+                if (batch.get(batch.size() - 1) == END_OF_FILES) {
+                    batch.remove(batch.size() - 1);
+                    end = true;
+                }
+                translateBatch(batch);
+                batch.clear();
+            }
+            claimUnclaimed();
+        } finally {
+            endRenames();
+        }
+    }
+
+    /**
+     * Claims names of held renames, renames aren't held after that.
+     */
+    private void claimUnclaimed() {
+        if (unclaimed == null) {
+            return;
+        }
+        for (final Rename rename : unclaimed) {
+            final int slash = rename.newName.lastIndexOf('/');
+            claim(rename.source, rename.oldName,
+                slash < 0 ? "" : rename.newName.substring(0, slash), rename.newName.substring(slash + 1));
+        }
+        unclaimed = null;
+    }
+
+    /**
+     * Passes end of renames to every copier. If renaming is failed, copiers
+     * give up waiting for renames themselves, so end isn't passed to them.
+     */
+    private void endRenames() {
+        for (int i = 0; i < copiers && !failed; i++) {
+            put(translated, END_OF_RENAMES);
+        }
+    }
+
+    private void translateBatch(final List<ListedFile> batch) {
+        final String[] names = new String[batch.size()];
+        final Path[] directories = new Path[batch.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = batch.get(i).file.getFileName().toString(); // with extension
+            directories[i] = root == null ? null : root.relativize(batch.get(i).file.getParent());
+            if (transferMode == TransferMode.MOVE) {
+                // Moved file can't take name of another file in its directory
+                collisions.reserve(oldPathOf(directories[i], names[i]));
+            }
+        }
+        final BitSet cyrillicNames = letterTranslator.prescan(names);
+        for (int i = 0; i < names.length; i++) {
+            final String directory = directories[i] == null ? "" : pathOf(directories[i]);
+            final String oldPath = oldPathOf(directories[i], names[i]);
+            if (manifest != null && manifest.keepIfUnchanged(oldPath, batch.get(i).attributes)) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            Journal.Record record = resume ? journal.find(oldPath) : null;
+            if (record != null && record.isFailed()) {
+                // File wasn't renamed because of its problem
+                record = null;
+            }
+            if (record != null && record.isDone()) {
+                if (manifest != null) {
+                    manifest.record(oldPath, batch.get(i).attributes, record.getNewName());
+                }
+                resumed.incrementAndGet();
+                continue;
+            }
+            if (record != null) {
+                // Interrupted rename is made again to the journaled name, it is already reserved
+                put(translated, new Rename(batch.get(i), oldPath, record.getNewName(), -1, true));
+                continue;
+            }
+            final TranslationResult result = cyrillicNames.get(i)
+                ? letterTranslator.tryTranslate(names[i])
+                : TranslationResult.unchanged(names[i]);
+            final String newDirectory;
+            if (directory.isEmpty() || transferMode == TransferMode.MOVE) {
+                if (!result.isTranslated()) {
+                    logList.put(oldPath, result.toException());
+                    continue;
+                }
+                newDirectory = directory;
+            } else {
+                newDirectory = translateDirectory(directories[i]);
+                // File of subdirectory is renamed if any name of its path is translated
+                if (!result.isTranslated() && (result.getStatus() != UNCHANGED || newDirectory.equals(directory))) {
+                    logList.put(oldPath, result.toException());
+                    continue;
+                }
+            }
+            final String newPath = CollisionIndex.pathOf(newDirectory, result.getName());
+            if (manifest != null && newPath.equals(manifest.previousName(oldPath))) {
+                // Changed file replaces its own renamed file, name is reserved for it
+                put(translated, new Rename(batch.get(i), oldPath, newPath));
+            } else if (unclaimed != null) {
+                unclaimed.add(new Rename(batch.get(i), oldPath, newPath));
+                if (unclaimed.size() == MAX_UNCLAIMED) {
+                    claimUnclaimed();
+                }
+            } else {
+                claim(batch.get(i), oldPath, newDirectory, result.getName());
+            }
+        }
+    }
+
+    private static String oldPathOf(final Path directory, final String name) {
+        return directory == null ? name : CollisionIndex.pathOf(pathOf(directory), name);
+    }
+
+    /**
+     * Passes rename to copiers with {@code name} or its suffixed form if another file took it.
+     */
+    private void claim(final ListedFile source, final String oldPath, final String directory, final String name) {
+        final String claimed = collisions.claim(directory, name);
+        if (plan != null && !claimed.equals(name)) {
+            plan.collision(oldPath, CollisionIndex.pathOf(directory, name));
+        }
+        put(translated, new Rename(source, oldPath,
+            transferMode == TransferMode.MOVE ? claimed : CollisionIndex.pathOf(directory, claimed)));
+    }
+
+    /**
+     * Names of directories that aren't translated are kept as is.
+     */
+    private String translateDirectory(final Path directory) {
+        return translatedDirectories.computeIfAbsent(directory, dir -> {
+            final StringBuilder result = new StringBuilder();
+            for (final Path name : dir) {
+                if (result.length() > 0) {
+                    result.append('/');
+                }
+                result.append(letterTranslator.tryTranslate(name.toString()).getName());
+            }
+            return result.toString();
+        });
+    }
+
+    private static String pathOf(final Path directory) {
+        return directory.toString().replace(directory.getFileSystem().getSeparator(), "/");
+    }
+
+    private void copy() {
+        final List<Rename> batch = new ArrayList<>(MOVE_BATCH);
+        while (true) {
+            final Rename rename = take(translated);
+            if (rename == END_OF_RENAMES) {
+                return;
+            }
+            if (plan != null || journal == null || transferMode != TransferMode.MOVE) {
+                copy(rename);
+                continue;
+            }
+            batch.add(rename);
+            translated.drainTo(batch, MOVE_BATCH - 1);
+            final boolean end = removeEndsOfRenames(batch);
+            moveBatch(batch);
+            batch.clear();
+            if (end) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ends of renames of other copiers are passed back to them.
+     *
+     * @return {@code true} if {@code batch} contained end of renames
+     */
+    private boolean removeEndsOfRenames(final List<Rename> batch) {
+        int ends = 0;
+        while (!batch.isEmpty() && batch.get(batch.size() - 1) == END_OF_RENAMES) {
+            batch.remove(batch.size() - 1);
+            ends++;
+        }
+        for (int i = 1; i < ends; i++) {
+            put(translated, END_OF_RENAMES);
+        }
+        return ends > 0;
+    }
+
+    /**
+     * Intents of {@code batch} are synced to disk at once, files are moved after that,
+     * so every moved file is in journal and journal is synced once per batch, not per file.
+     */
+    private void moveBatch(final List<Rename> batch) {
+        final int[] intents = new int[batch.size()];
+        for (int i = 0; i < intents.length; i++) {
+            intents[i] = shouldTransfer(batch.get(i)) ? intend(batch.get(i)) : -1;
+        }
+        sync();
+        for (int i = 0; i < intents.length; i++) {
+            if (intents[i] != -1) {
+                transfer(batch.get(i), intents[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies or moves file by {@link #transferMode} or writes it to {@link #plan},
+     * problems of file are logged.
+     */
+    private void copy(final Rename rename) {
+        if (!shouldTransfer(rename)) {
+            return;
+        }
+        final int intent = intend(rename);
+        if (transferMode == TransferMode.MOVE) {
+            // Moves of concurrent threads share sync
+            sync();
+        }
+        transfer(rename, intent);
+    }
+
+    /**
+     * @return {@code false} if rename is written to {@link #plan} or file is changed since plan was written
+     */
+    private boolean shouldTransfer(final Rename rename) {
+        if (plan != null) {
+            plan.rename(rename.oldName, rename.newName,
+                rename.source.attributes == null ? 0 : rename.source.attributes.size());
+            return false;
+        }
+        return rename.plannedSize == -1 || !isChangedSincePlan(rename);
+    }
+
+    /**
+     * @return ordinal of intent in journal or -1 if renames aren't journaled
+     */
+    private int intend(final Rename rename) {
+        try {
+            return journal == null ? -1 : journal.intend(rename.oldName, rename.newName);
+        } catch (IOException e) {
+            throw new Journal.JournalException(e);
+        }
+    }
+
+    private void sync() {
+        if (journal != null) {
+            try {
+                journal.sync();
+            } catch (IOException e) {
+                throw new Journal.JournalException(e);
+            }
+        }
+    }
+
+    /**
+     * Transfers file after its {@code intent} is journaled and marks intent done or failed.
+     */
+    private void transfer(final Rename rename, final int intent) {
+        boolean done = false;
+        try {
+            final String previousName = manifest == null ? null : manifest.previousName(rename.oldName);
+            if (previousName != null) {
+                // File is changed since previous run
+                fileManager.deleteRenamedFile(previousName);
+            }
+            if (rename.interrupted && transferMode != TransferMode.MOVE) {
+                // Result of interrupted rename may be left incomplete
+                fileManager.deleteRenamedFile(rename.newName);
+            }
+            switch (transferMode) {
+                case MOVE:
+                    fileManager.moveRenamedFile(rename.source.file, rename.newName);
+                    break;
+                case LINK:
+                    fileManager.linkRenamedFile(rename.source.file, rename.newName);
+                    break;
+                default:
+                    if (deduplicator != null && rename.source.attributes != null) {
+                        deduplicator.copy(rename.source.file, rename.source.attributes.size(), rename.newName);
+                    } else {
+                        fileManager.copyRenamedFile(rename.source.file, rename.newName);
+                    }
+                    break;
+            }
+            if (manifest != null) {
+                manifest.record(rename.oldName, rename.source.attributes, rename.newName);
+            }
+            done = true;
+        } catch (IOException e) {
+            logList.put(rename.oldName, e);
+        }
+        if (journal != null) {
+            try {
+                if (done) {
+                    journal.done(intent);
+                } else {
+                    journal.failed(intent);
+                }
+            } catch (IOException e) {
+                throw new Journal.JournalException(e);
+            }
+        }
+    }
+
+    /**
+     * File of plan may be deleted or changed after plan was written, it isn't renamed then.
+     */
+    private boolean isChangedSincePlan(final Rename rename) {
+        final long size;
+        try {
+            size = Files.readAttributes(rename.source.file, BasicFileAttributes.class, NOFOLLOW_LINKS).size();
+        } catch (NoSuchFileException e) {
+            logList.put(rename.oldName, new IOException("File is deleted since plan was written", e));
+            return true;
+        } catch (IOException e) {
+            logList.put(rename.oldName, e);
+            return true;
+        }
+        if (size != rename.plannedSize) {
+            logList.put(rename.oldName, new IOException(format(
+                "File is changed since plan was written: %d bytes instead of %d", size, rename.plannedSize)));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Starts thread for every file, {@link #copyLimit} limits count of files copied
+     * at once and so count of open file handles.
+     */
+    private void copyThreadPerFile() {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            while (failure.get() == null) {
+                final Rename rename = take(translated);
+                if (rename == END_OF_RENAMES) {
+                    break;
+                }
+                copyLimit.acquire();
+                executor.execute(() -> {
+                    final long start = System.nanoTime();
+                    try {
+                        copy(rename);
+                    } catch (RuntimeException | Error e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        copyLimit.release(System.nanoTime() - start);
+                    }
+                });
+            }
+            copyLimit.awaitAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Renaming is interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+        rethrow(failure.get());
+    }
+
+    /**
+     * @return count of files listed or read from plan so far, also if renaming is failed
+     */
+    int getListedFiles() {
+        return listedFiles.get();
+    }
+
+    /**
+     * @return count of unchanged files skipped by manifest
+     */
+    int getSkippedFiles() {
+        return skipped.get();
+    }
+
+    /**
+     * @return count of files skipped because interrupted run renamed them
+     */
+    int getResumedFiles() {
+        return resumed.get();
+    }
+
+    /**
+     * @return count of files linked to copies of the same content
+     */
+    int getDuplicates() {
+        return deduplicator == null ? 0 : deduplicator.getDuplicates();
+    }
+
+    /**
+     * @return bytes that aren't copied because files are linked to copies of the same content
+     */
+    long getSavedBytes() {
+        return deduplicator == null ? 0 : deduplicator.getSavedBytes();
+    }
+
+    /**
+     * @return count of files that got suffixed name because another file took their new name
+     */
+    int getCollisions() {
+        return collisions.getCollisions();
+    }
+
+    /**
+     * @return count of files copied at once, for adaptive concurrency the last chosen one
+     */
+    int getCopyConcurrency() {
+        return copyLimit == null ? copiers : copyLimit.getLimit();
+    }
+
+    private static void rethrow(final Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+
+    /**
+     * Waits for free place in {@code queue}, gives up if another stage is failed.
+     */
+    private <T> void put(final BlockingQueue<T> queue, final T element) {
+        try {
+            while (!queue.offer(element, WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (failed) {
+                    throw new CancellationException("Another stage of renaming is failed");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Renaming is interrupted");
+        }
+    }
+
+    /**
+     * Waits for element of {@code queue}, gives up if another stage is failed,
+     * so elements left in full queue aren't renamed.
+     */
+    private <T> T take(final BlockingQueue<T> queue) {
+        try {
+            while (!failed) {
+                final T element = queue.poll(WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (element != null) {
+                    return element;
+                }
+            }
+            throw new CancellationException("Another stage of renaming is failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Renaming is interrupted");
+        }
+    }
+
+    private static final class Rename {
+
+        private final ListedFile source;
+
+        private final String oldName;
+
+        private final String newName;
+
+        // Size of file when plan was written or -1 if file is just listed
+        private final long plannedSize;
+
+        // Rename has unfinished intent in resumed journal, so its result may be left incomplete
+        private final boolean interrupted;
+
+        private Rename(final ListedFile source, final String oldName, final String newName) {
+            this(source, oldName, newName, -1);
+        }
+
+        private Rename(final ListedFile source, final String oldName, final String newName, final long plannedSize) {
+            this(source, oldName, newName, plannedSize, false);
+        }
+
+        private Rename(final ListedFile source,
+                       final String oldName,
+                       final String newName,
+                       final long plannedSize,
+                       final boolean interrupted) {
+            this.source = source;
+            this.oldName = oldName;
+            this.newName = newName;
+            this.plannedSize = plannedSize;
+            this.interrupted = interrupted;
+        }
+    }
+
+    private static final class ListedFile {
+
+        private final Path file;
+
+        private final BasicFileAttributes attributes;
+
+        private ListedFile(final Path file, final BasicFileAttributes attributes) {
+            this.file = file;
+            this.attributes = attributes;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Text file with renames computed before any file is renamed, one line per record,
+ * fields are separated by tabs:
+ * <pre>
+ * root       path of renamed directory
+ * mode       transfer mode
+ * rename     size of file, old name, new name
+ * problem    old name, message of problem
+ * collision  old name, new name taken by another file, so file got suffixed name
+ * total      count of renames, bytes of renamed files, problems, collisions
+ * </pre>
+ * Names are relative to root and separated by '/', tabs, line breaks and
+ * backslashes in them are escaped by backslash.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class RenamePlan {
+
+    private final static String HEADER = "# cyrillic-file-renamer plan";
+
+    private RenamePlan() {
+    }
+
+    static Writer create(final Path file, final String root, final TransferMode transferMode) throws IOException {
+        final BufferedWriter writer = Files.newBufferedWriter(file, UTF_8);
+        try {
+            writer.write(HEADER);
+            writer.newLine();
+            writeLine(writer, "root", root);
+            writeLine(writer, "mode", transferMode.name());
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return new Writer(writer);
+    }
+
+    static Reader open(final Path file) throws IOException {
+        final BufferedReader reader = Files.newBufferedReader(file, UTF_8);
+        try {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("File " + file + " isn't a plan");
+            }
+            final String[] root = readLine(reader, "root", file);
+            final String[] mode = readLine(reader, "mode", file);
+            return new Reader(reader, file, root[1], TransferMode.valueOf(mode[1]));
+        } catch (IllegalArgumentException e) {
+            reader.close();
+            throw new IOException("Illegal transfer mode in plan " + file, e);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private static void writeLine(final BufferedWriter writer, final String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writer.write(escape(fields[i]));
+        }
+        writer.newLine();
+    }
+
+    private static String[] readLine(final BufferedReader reader, final String kind,
+                                     final Path file) throws IOException {
+        final String line = reader.readLine();
+        final String[] fields = line == null ? null : line.split("\t", -1);
+        if (fields == null || !fields[0].equals(kind) || fields.length < 2) {
+            throw new IOException("Plan " + file + " has no '" + kind + "' line");
+        }
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = unescape(fields[i]);
+        }
+        return fields;
+    }
+
+    private static String escape(final String field) {
+        final StringBuilder result = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            final char ch = field.charAt(i);
+            switch (ch) {
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                default:
+                    result.append(ch);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private static String unescape(final String field) {
+        if (field.indexOf('\\') == -1) {
+            return field;
+        }
+        final StringBuilder result = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            final char ch = field.charAt(i);
+            if (ch != '\\' || i + 1 == field.length()) {
+                result.append(ch);
+                continue;
+            }
+            final char escaped = field.charAt(++i);
+            switch (escaped) {
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                default:
+                    result.append(escaped);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes records as they are computed, totals are written on close.
+     * Methods may be called from many threads.
+     */
+    static final class Writer implements Closeable {
+
+        private final BufferedWriter writer;
+
+        private int renames;
+
+        private long bytes;
+
+        private int problems;
+
+        private int collisions;
+
+        private Writer(final BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * @throws UncheckedIOException if plan can't be written
+         */
+        synchronized void rename(final String oldName, final String newName, final long size) {
+            write("rename", String.valueOf(size), oldName, newName);
+            renames++;
+            bytes += size;
+        }
+
+        /**
+         * @param newName name of another file that file was going to take
+         * @throws UncheckedIOException if plan can't be written
+         */
+        synchronized void collision(final String oldName, final String newName) {
+            write("collision", oldName, newName);
+            collisions++;
+        }
+
+        /**
+         * @throws UncheckedIOException if plan can't be written
+         */
+        synchronized void problem(final String oldName, final Exception problem) {
+            write("problem", oldName, String.valueOf(problem.getMessage()));
+            problems++;
+        }
+
+        private void write(final String... fields) {
+            try {
+                writeLine(writer, fields);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized int getRenames() {
+            return renames;
+        }
+
+        synchronized long getBytes() {
+            return bytes;
+        }
+
+        synchronized int getProblems() {
+            return problems;
+        }
+
+        synchronized int getCollisions() {
+            return collisions;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try (writer) {
+                writeLine(writer, "total", String.valueOf(renames), String.valueOf(bytes),
+                    String.valueOf(problems), String.valueOf(collisions));
+            }
+        }
+    }
+
+    static final class Reader implements Closeable {
+
+        private final BufferedReader reader;
+
+        private final Path file;
+
+        private final String root;
+
+        private final TransferMode transferMode;
+
+        private Reader(final BufferedReader reader, final Path file,
+                       final String root, final TransferMode transferMode) {
+            this.reader = reader;
+            this.file = file;
+            this.root = root;
+            this.transferMode = transferMode;
+        }
+
+        String getRoot() {
+            return root;
+        }
+
+        TransferMode getTransferMode() {
+            return transferMode;
+        }
+
+        /**
+         * Reads renames one by one, other records are skipped.
+         *
+         * @throws UncheckedIOException if plan can't be read or is broken
+         */
+        void forEachRename(final RenameConsumer action) {
+            final Path rootPath = Path.of(root);
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("rename\t")) {
+                        continue;
+                    }
+                    final String[] fields = line.split("\t", -1);
+                    if (fields.length != 4) {
+                        throw new IOException("Illegal rename in plan " + file + ": " + line);
+                    }
+                    final long size;
+                    try {
+                        size = Long.parseLong(fields[1]);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Illegal rename in plan " + file + ": " + line, e);
+                    }
+                    final String oldName = unescape(fields[2]);
+                    action.accept(rootPath.resolve(oldName), oldName, unescape(fields[3]), size);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    @FunctionalInterface
+    interface RenameConsumer {
+
+        /**
+         * @param size size of file when plan was written
+         */
+        void accept(Path sourceFile, String oldName, String newName, long size);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverses the last run of {@link Application} by its journal from the last renamed file:
+ * copies and links are deleted, moved files get their old names back.
+ * Restored files leave manifest, journal is deleted if all files are restored.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public class RollbackApplication {
+
+    private final DataPrinter dataPrinter;
+
+    private final FileManager fileManager;
+
+    private final String pathToCatalog;
+
+    public RollbackApplication(final DataPrinter dataPrinter,
+                               final FileManager fileManager,
+                               final String pathToCatalog) {
+        this.dataPrinter = requireNonNull(dataPrinter);
+        this.fileManager = requireNonNull(fileManager);
+        this.pathToCatalog = requireNonNull(pathToCatalog);
+    }
+
+    public void start() {
+        final Path journalFile = Path.of(pathToCatalog, Application.JOURNAL_NAME);
+        final Map<String, Exception> logList = new ConcurrentHashMap<>();
+        final int files;
+        try (final Journal journal = Journal.read(journalFile)) {
+            final TransferMode transferMode = journal.getTransferMode();
+            if (transferMode != TransferMode.MOVE) {
+                fileManager.createResultingDirectory(pathToCatalog);
+            }
+            journal.forEachReversed(record -> restore(record, transferMode, logList));
+            forgetRestoredFiles(journal, logList);
+            files = journal.size();
+        } catch (IOException | UncheckedIOException e) {
+            dataPrinter.printErrorMessage(format("Can't read journal '%s': %s", journalFile, e));
+            return;
+        }
+        if (logList.isEmpty()) {
+            try {
+                Files.delete(journalFile);
+            } catch (IOException e) {
+                dataPrinter.printErrorMessage(format("Can't delete journal '%s': %s", journalFile, e));
+            }
+        } else {
+            dataPrinter.printInfoMessage("Journal is kept for files that aren't restored: " + journalFile);
+        }
+        dataPrinter.outInfo(files, logList);
+        dataPrinter.exit();
+    }
+
+    /**
+     * Only files that journal proves renamed are touched: failed renames left no file and new name
+     * of unfinished copy or link may be a file that existed before the run. Unfinished move may
+     * not have happened, so its missing or still existing file isn't a problem.
+     */
+    private void restore(final Journal.Record record,
+                         final TransferMode transferMode,
+                         final Map<String, Exception> logList) {
+        if (record.isFailed() || !record.isDone() && transferMode != TransferMode.MOVE) {
+            return;
+        }
+        try {
+            if (transferMode == TransferMode.MOVE) {
+                final Path oldFile = Path.of(pathToCatalog, record.getOldPath());
+                fileManager.moveRenamedFile(oldFile.resolveSibling(record.getNewName()),
+                    oldFile.getFileName().toString());
+            } else {
+                fileManager.deleteRenamedFile(record.getNewName());
+            }
+        } catch (NoSuchFileException | FileAlreadyExistsException e) {
+            if (record.isDone()) {
+                logList.put(record.getOldPath(), e);
+            }
+        } catch (IOException e) {
+            logList.put(record.getOldPath(), e);
+        }
+    }
+
+    /**
+     * Removes restored files from manifest, so incremental run renames them again.
+     */
+    private void forgetRestoredFiles(final Journal journal, final Map<String, Exception> logList) {
+        final Path manifestFile = Path.of(pathToCatalog, Application.MANIFEST_NAME);
+        if (!Files.exists(manifestFile)) {
+            return;
+        }
+        try {
+            final Manifest manifest = Manifest.load(manifestFile);
+            manifest.keepAllExcept(path -> journal.find(path) != null && !logList.containsKey(path));
+            manifest.save(manifestFile);
+        } catch (IOException e) {
+            dataPrinter.printErrorMessage(format("Can't update manifest '%s': %s", manifestFile, e));
+        }
+    }
+}
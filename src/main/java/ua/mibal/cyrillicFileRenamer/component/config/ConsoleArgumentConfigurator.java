@@ -26,7 +26,12 @@ import static java.lang.String.format;
 import static ua.mibal.cyrillicFileRenamer.component.console.ConsoleDataPrinter.BOLD;
 import static ua.mibal.cyrillicFileRenamer.component.console.ConsoleDataPrinter.RESET;
 import static ua.mibal.cyrillicFileRenamer.component.console.ConsoleDataPrinter.clearLines;
+import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.BELARUSIAN;
+import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.BULGARIAN;
 import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.EXTENDED;
+import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.GOST;
+import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.ISO9;
+import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.OFFICIAL;
 
 /**
  * @author Mykhailo Balakhon
@@ -41,6 +46,9 @@ public class ConsoleArgumentConfigurator implements ArgumentConfigurator {
 
     private final FileManager fileManager;
 
+    // Menu keeps its numbers, new standards are appended to it
+    private final static LetterStandard[] MENU = {EXTENDED, OFFICIAL, GOST, BELARUSIAN, BULGARIAN, ISO9};
+
     public ConsoleArgumentConfigurator(final DataPrinter dataPrinter,
                                        final InputReader inputReader,
                                        final FileManager fileManager) {
@@ -56,11 +64,12 @@ public class ConsoleArgumentConfigurator implements ArgumentConfigurator {
         boolean infoIsExists = false;
         int count = 2;
         LetterStandard resultLetterStandard;
+        final LetterStandard[] standards = MENU;
         while (true) {
-            dataPrinter.printInfoMessage("""
-                1 - EXTENDED
-                2 - OFFICIAL""");
-            count += 2;
+            for (int i = 0; i < standards.length; i++) {
+                dataPrinter.printInfoMessage(format("%d - %s", i + 1, standards[i]));
+            }
+            count += standards.length;
             if (!infoIsExists) {
                 dataPrinter.printInfoMessage("Questions? Enter '/info'");
                 count++;
@@ -68,12 +77,9 @@ public class ConsoleArgumentConfigurator implements ArgumentConfigurator {
             dataPrinter.printInfoMessage("");
             final String userStandard = inputReader.read().trim();
             count += 2;
-            if (userStandard.equals("1")) {
-                resultLetterStandard = EXTENDED;
-                break;
-            }
-            if (userStandard.equals("2")) {
-                resultLetterStandard = EXTENDED;
+            final LetterStandard selected = selectStandard(standards, userStandard);
+            if (selected != null) {
+                resultLetterStandard = selected;
                 break;
             }
             if (userStandard.equalsIgnoreCase("/info")) {
@@ -85,10 +91,13 @@ public class ConsoleArgumentConfigurator implements ArgumentConfigurator {
                                  transliteration.
                         %sOFFICIAL%s mode is used to
                                  transliterate the names of people
-                                 and places by government standards.""",
-                    BOLD, RESET, BOLD, RESET));
+                                 and places by government standards.
+                        %sGOST%s, %sBELARUSIAN%s, %sBULGARIAN%s and %sISO9%s
+                                 modes transliterate other
+                                 cyrillic languages.""",
+                    BOLD, RESET, BOLD, RESET, BOLD, RESET, BOLD, RESET, BOLD, RESET, BOLD, RESET));
                 infoIsExists = true;
-                count += 6;
+                count += 9;
                 continue;
             }
             clearLines(count - 1);
@@ -102,6 +111,15 @@ public class ConsoleArgumentConfigurator implements ArgumentConfigurator {
         return resultLetterStandard;
     }
 
+    private static LetterStandard selectStandard(final LetterStandard[] standards, final String userStandard) {
+        for (int i = 0; i < standards.length; i++) {
+            if (userStandard.equals(String.valueOf(i + 1)) || userStandard.equalsIgnoreCase(standards[i].name())) {
+                return standards[i];
+            }
+        }
+        return null;
+    }
+
     @Override
     public String configurePath() {
         dataPrinter.printInfoMessage("");
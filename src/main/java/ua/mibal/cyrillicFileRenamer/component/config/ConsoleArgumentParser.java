@@ -17,10 +17,15 @@
 
 package ua.mibal.cyrillicFileRenamer.component.config;
 
+import ua.mibal.cyrillicFileRenamer.component.ChannelCopier;
 import ua.mibal.cyrillicFileRenamer.component.FileManager;
+import ua.mibal.cyrillicFileRenamer.component.NameFilter;
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
 import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
-import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.EXTENDED;
-import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.OFFICIAL;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Mykhailo Balakhon
@@ -28,21 +33,100 @@ import static ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard.OFFI
  */
 public class ConsoleArgumentParser {
 
+    private final static int MAX_ADAPTIVE_CONCURRENCY = 64;
+
     private final FileManager fileManager;
 
     private String path;
 
     private LetterStandard letterStandard;
 
+    private int wordCacheSize;
+
+    private Concurrency concurrency = Concurrency.threads(1);
+
+    private boolean recursive;
+
+    private TransferMode transferMode = TransferMode.COPY;
+
+    private boolean incremental;
+
+    private boolean ignoreCase;
+
+    private boolean resume;
+
+    private boolean rollback;
+
+    private boolean dedup;
+
+    private final List<String> filterRules = new ArrayList<>();
+
+    private int copyChunkSize = ChannelCopier.DEFAULT_CHUNK_SIZE;
+
+    private int copyBufferSize = ChannelCopier.DEFAULT_BUFFER_SIZE;
+
+    private String planFile;
+
+    private String appliedPlanFile;
+
+    private String namesFile;
+
+    private String outputFile;
+
     public ConsoleArgumentParser(final FileManager fileManager) {
         this.fileManager = fileManager;
     }
 
     public void parse(String[] args) {
-        for (final String arg : args) {
-            if (arg.equalsIgnoreCase("this")) {
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+            if (arg.equalsIgnoreCase("--cache") && i + 1 < args.length) {
+                wordCacheSize = parsePositiveInt(arg, args[++i]);
+            } else if (arg.equalsIgnoreCase("--threads") && i + 1 < args.length) {
+                final String threads = args[++i];
+                concurrency = threads.equalsIgnoreCase("auto")
+                    ? Concurrency.adaptive(MAX_ADAPTIVE_CONCURRENCY)
+                    : Concurrency.threads(parsePositiveInt(arg, threads));
+            } else if (arg.equalsIgnoreCase("--in-flight") && i + 1 < args.length) {
+                concurrency = Concurrency.threadPerFile(parsePositiveInt(arg, args[++i]));
+            } else if (arg.equalsIgnoreCase("--recursive")) {
+                recursive = true;
+            } else if (arg.equalsIgnoreCase("--in-place")) {
+                transferMode = TransferMode.MOVE;
+            } else if (arg.equalsIgnoreCase("--link")) {
+                transferMode = TransferMode.LINK;
+            } else if (arg.equalsIgnoreCase("--incremental")) {
+                incremental = true;
+            } else if (arg.equalsIgnoreCase("--ignore-case")) {
+                ignoreCase = true;
+            } else if (arg.equalsIgnoreCase("--resume")) {
+                resume = true;
+            } else if (arg.equalsIgnoreCase("--rollback")) {
+                rollback = true;
+            } else if (arg.equalsIgnoreCase("--dedup")) {
+                dedup = true;
+            } else if (arg.equalsIgnoreCase("--exclude") && i + 1 < args.length) {
+                filterRules.add(parseRule(arg, args[++i]));
+            } else if (arg.equalsIgnoreCase("--include") && i + 1 < args.length) {
+                filterRules.add(parseRule(arg, "!" + args[++i]));
+            } else if (arg.equalsIgnoreCase("--copy-chunk") && i + 1 < args.length) {
+                copyChunkSize = parseSize(arg, args[++i]);
+            } else if (arg.equalsIgnoreCase("--copy-buffer") && i + 1 < args.length) {
+                copyBufferSize = parseSize(arg, args[++i]);
+                if (copyBufferSize == 0) {
+                    throw new IllegalArgumentException(format("Option '%s' expects positive size", arg));
+                }
+            } else if (arg.equalsIgnoreCase("--plan") && i + 1 < args.length) {
+                planFile = args[++i];
+            } else if (arg.equalsIgnoreCase("--apply") && i + 1 < args.length) {
+                appliedPlanFile = args[++i];
+            } else if (arg.equalsIgnoreCase("--names") && i + 1 < args.length) {
+                namesFile = args[++i];
+            } else if (arg.equalsIgnoreCase("--out") && i + 1 < args.length) {
+                outputFile = args[++i];
+            } else if (arg.equalsIgnoreCase("this")) {
                 this.path = fileManager.getParentDir(System.getProperty("user.dir"));
-            } else if (arg.equalsIgnoreCase(OFFICIAL.name()) || arg.equalsIgnoreCase(EXTENDED.name())) {
+            } else if (isLetterStandard(arg)) {
                 letterStandard = LetterStandard.valueOf(arg.toUpperCase());
             } else {
                 if (this.path == null) {
@@ -52,6 +136,69 @@ public class ConsoleArgumentParser {
         }
     }
 
+    private static boolean isLetterStandard(final String arg) {
+        for (final LetterStandard standard : LetterStandard.values()) {
+            if (arg.equalsIgnoreCase(standard.name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int parsePositiveInt(final String option, final String value) {
+        try {
+            final int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(format(
+            "Option '%s' expects positive number, but was '%s'", option, value));
+    }
+
+    /**
+     * Parses count of bytes with optional binary suffix 'K', 'M' or 'G', like '64K'.
+     */
+    private static int parseSize(final String option, final String value) {
+        final char suffix = value.isEmpty() ? ' ' : Character.toUpperCase(value.charAt(value.length() - 1));
+        final int shift;
+        switch (suffix) {
+            case 'K':
+                shift = 10;
+                break;
+            case 'M':
+                shift = 20;
+                break;
+            case 'G':
+                shift = 30;
+                break;
+            default:
+                shift = 0;
+                break;
+        }
+        final String number = shift == 0 ? value : value.substring(0, value.length() - 1);
+        try {
+            final long result = Long.parseLong(number);
+            if (result >= 0 && result <= Integer.MAX_VALUE >> shift) {
+                return (int) (result << shift);
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(format(
+            "Option '%s' expects size like 512K or 8M, but was '%s'", option, value));
+    }
+
+    private static String parseRule(final String option, final String rule) {
+        try {
+            NameFilter.compile(List.of(rule));
+            return rule;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format(
+                "Option '%s' expects glob or 're:' regular expression, but was '%s'", option, rule), e);
+        }
+    }
+
     public LetterStandard getLetterStandard() {
         return letterStandard;
     }
@@ -59,4 +206,116 @@ public class ConsoleArgumentParser {
     public String getPath() {
         return path;
     }
+
+    /**
+     * @return capacity of translated words cache or 0 if cache is disabled
+     */
+    public int getWordCacheSize() {
+        return wordCacheSize;
+    }
+
+    /**
+     * @return how files are copied, 1 thread by default
+     */
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return {@code true} if files of subdirectories are renamed too
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * @return how renamed files get new names, copies by default
+     */
+    public TransferMode getTransferMode() {
+        return transferMode;
+    }
+
+    /**
+     * @return {@code true} if unchanged files renamed by previous run are skipped
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @return {@code true} if new names that differ only by case collide
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * @return {@code true} if interrupted run is continued by its journal
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * @return {@code true} if files renamed by the last run are restored by its journal
+     */
+    public boolean isRollback() {
+        return rollback;
+    }
+
+    /**
+     * @return {@code true} if copies of the same content are linked to the first copy
+     */
+    public boolean isDedup() {
+        return dedup;
+    }
+
+    /**
+     * @return rules of ignored files in order of options, see {@link NameFilter}
+     */
+    public List<String> getFilterRules() {
+        return filterRules;
+    }
+
+    /**
+     * @return max bytes of one channel transfer or 0 if files are copied through buffer only
+     */
+    public int getCopyChunkSize() {
+        return copyChunkSize;
+    }
+
+    /**
+     * @return size of buffer for copy of files that can't be transferred by channel
+     */
+    public int getCopyBufferSize() {
+        return copyBufferSize;
+    }
+
+    /**
+     * @return file for plan of renames or {@code null} if files are renamed
+     */
+    public String getPlanFile() {
+        return planFile;
+    }
+
+    /**
+     * @return plan to rename files by or {@code null} if directory is renamed
+     */
+    public String getAppliedPlanFile() {
+        return appliedPlanFile;
+    }
+
+    /**
+     * @return file with names to translate or {@code null} if names are taken from directory
+     */
+    public String getNamesFile() {
+        return namesFile;
+    }
+
+    /**
+     * @return file for translated names or {@code null} if it's not set
+     */
+    public String getOutputFile() {
+        return outputFile;
+    }
 }
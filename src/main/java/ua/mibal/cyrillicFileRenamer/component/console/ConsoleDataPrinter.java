@@ -168,13 +168,18 @@ public class ConsoleDataPrinter implements DataPrinter {
         map.put(DontContainCyrillicSymbolsException.class, new ArrayList<>());
         map.put(FileAlreadyExistsException.class, new ArrayList<>());
         map.put(IOException.class, new ArrayList<>());
+        map.put(Exception.class, new ArrayList<>());
 
         logList.forEach((fileName, e) -> {
-            final Class<? extends Exception> clazz = e.getClass();
-            if (clazz == IllegalLanguageException.class) {
-                map.get(clazz).add(fileName + ": " + e.getMessage());
-            } else {
+            // Other problems are grouped by the nearest registered superclass
+            Class<?> clazz = e.getClass();
+            while (!map.containsKey(clazz)) {
+                clazz = clazz.getSuperclass();
+            }
+            if (clazz == DontContainCyrillicSymbolsException.class || clazz == FileAlreadyExistsException.class) {
                 map.get(clazz).add(fileName);
+            } else {
+                map.get(clazz).add(fileName + ": " + e.getMessage());
             }
         });
         return Collections.unmodifiableMap(map);
@@ -17,180 +17,342 @@
 
 package ua.mibal.cyrillicFileRenamer.component.translators;
 
-import ua.mibal.cyrillicFileRenamer.model.Border;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status;
 import ua.mibal.cyrillicFileRenamer.model.exceptions.DontContainCyrillicSymbolsException;
 import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
-import static java.lang.Character.UnicodeBlock;
-import static java.lang.Character.isUpperCase;
-import static java.lang.Character.toUpperCase;
 import static java.lang.String.valueOf;
-import static java.text.MessageFormat.format;
-import static java.util.Map.entry;
-import java.util.ArrayList;
+import static java.util.Objects.checkFromToIndex;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
+ * Translator of file names by one {@link LetterRules} standard.
+ *
+ * <p>Translators are thread-safe, so one instance of {@link
+ * ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard} is shared by all
+ * threads: letter table is immutable, scratch buffer is per thread
+ * and {@link WordCache} is synchronized.
+ *
  * @author Mykhailo Balakhon
  * @link https://t.me/mibal_ua
  */
 public abstract class AbstractLetterTranslator {
 
-    // Regex to find at least one cyrillic character
-    private static final String REG_EXP = "^[^а-яёА-ЯЁ]*[а-яёА-ЯЁ].*";
-
-    private final static Map<String, String> specialLetters = Map.of(
-        "Є", "Ye",
-        "Ї", "Yi",
-        "Й", "Y",
-        "Ю", "Yu",
-        "Я", "Ya"
-    );
-
-    private final static Map<String, String> letters = Map.ofEntries(
-        entry("А", "A"),
-        entry("Б", "B"),
-        entry("В", "V"),
-        entry("Г", "H"),
-        entry("Ґ", "G"),
-        entry("Д", "D"),
-        entry("Е", "E"),
-        entry("Є", "Ie"),
-        entry("Ж", "Zh"),
-        entry("З", "Z"),
-        entry("И", "Y"),
-        entry("І", "I"),
-        entry("Ї", "I"),
-        entry("Й", "I"),
-        entry("К", "K"),
-        entry("Л", "L"),
-        entry("М", "M"),
-        entry("Н", "N"),
-        entry("О", "O"),
-        entry("П", "P"),
-        entry("Р", "R"),
-        entry("С", "S"),
-        entry("Т", "T"),
-        entry("У", "U"),
-        entry("Ф", "F"),
-        entry("Х", "Kh"),
-        entry("Ц", "Ts"),
-        entry("Ч", "Ch"),
-        entry("Ш", "Sh"),
-        entry("Щ", "Shch"),
-        entry("Ь", ""),
-        entry("'", ""),
-        entry("Ю", "Iu"),
-        entry("Я", "Ia")
-    );
-
-    private final static List<String> holosni = List.of(
-        "А", "Е", "Є", "И", "І", "Ї", "О", "У", "Ю", "Я"
-    );
-
-    private static boolean isBorder(final char letter) {
-        for (final Border value : Border.values()) {
-            if (String.valueOf(letter).equals(value.getBorder())) {
-                return true;
-            }
-        }
-        return false;
+    static final int TRANSLATED = -1;
+
+    static final int NO_CYRILLIC = -2;
+
+    private static final int NONE = -3;
+
+    private final static int PRESCAN_CHUNK = 64;
+
+    private final static int BULK_THRESHOLD = 1024;
+
+    // Scratch state, the only mutable state of translation
+    private final static ThreadLocal<TranslationBuffer> buffers =
+        ThreadLocal.withInitial(TranslationBuffer::new);
+
+    private final LetterRules rules;
+
+    private final LetterTable table;
+
+    private final WordCache wordCache;
+
+    protected AbstractLetterTranslator(final LetterRules rules, final WordCache wordCache) {
+        this.rules = rules;
+        this.table = rules.table();
+        this.wordCache = wordCache;
+    }
+
+    /**
+     * @return translator of the same standard with bounded cache of translated words
+     */
+    public abstract AbstractLetterTranslator withWordCache(int capacity);
+
+    public LetterRules getRules() {
+        return rules;
+    }
+
+    LetterTable getLetterTable() {
+        return table;
+    }
+
+    /**
+     * @return cache of translated words or {@code null} if it's disabled
+     */
+    public WordCache getWordCache() {
+        return wordCache;
     }
 
     public String translate(final String oldName)
         throws IllegalLanguageException, DontContainCyrillicSymbolsException {
-        if (notContainCyrillicLetters(oldName)) {
-            throw new DontContainCyrillicSymbolsException(
-                "File don't contain cyrillic symbols");
+        final TranslationResult result = tryTranslate(oldName);
+        switch (result.getStatus()) {
+            case UNCHANGED:
+                throw new DontContainCyrillicSymbolsException();
+            case UNSUPPORTED:
+                throw (IllegalLanguageException) result.toException();
+            default:
+                return result.getName();
         }
-        final String name = getNameWithoutExtension(oldName);
-        final String extension = getExtension(oldName);
-
-        final List<String> words = getWordsFromName(name);
-        final StringBuilder newName = new StringBuilder();
-        for (final String word : words) {
-            if (notContainCyrillicLetters(word)) {
-                newName.append(word);
-            } else {
-                final String translatedWord = translateWord(word);
-                newName.append(translatedWord);
-            }
-        }
-        return newName + extension;
     }
 
-    abstract String translateWord(final String word) throws IllegalLanguageException;
+    /**
+     * Same as {@link #translate(String)}, but returns outcome instead of throwing.
+     */
+    public TranslationResult tryTranslate(final String oldName) {
+        final TranslationBuffer buffer = buffers.get();
+        buffer.reset();
+        final int status = translateInto(oldName, 0, oldName.length(), buffer);
+        if (status == NO_CYRILLIC) {
+            return TranslationResult.unchanged(oldName);
+        }
+        if (status != TRANSLATED) {
+            return TranslationResult.unsupported(oldName, (char) status, rules.getName());
+        }
+        return TranslationResult.translated(buffer.toString());
+    }
 
-    protected String convert(final String ch) throws IllegalLanguageException {
-        final String key = ch.toUpperCase();
-        String newCh = letters.get(key);
-        if (newCh == null) {
-            throw new IllegalLanguageException(ch);
+    /**
+     * Classifies batch of names without translating them. Names that aren't marked
+     * don't contain cyrillic letters, so {@link #tryTranslate(String)} would
+     * return them {@link Status#UNCHANGED}.
+     *
+     * @return indexes of names that need translation
+     */
+    public BitSet prescan(final String[] names) {
+        final BitSet result = new BitSet(names.length);
+        final char[] chunk = new char[PRESCAN_CHUNK];
+        for (int i = 0; i < names.length; i++) {
+            if (needsTranslation(names[i], chunk)) {
+                result.set(i);
+            }
         }
-        return isUpperCase(ch.charAt(0)) ? newCh : newCh.toLowerCase();
+        return result;
     }
 
-    protected String convertSpecial(final String letter) {
-        final String newCh = specialLetters.get(letter.toUpperCase());
-        if (newCh == null) {
-            throw new IllegalArgumentException(format(
-                "Transliterator can't process ''{0}'' letter ", letter
-            ));
+    private boolean needsTranslation(final String name, final char[] chunk) {
+        for (int from = 0; from < name.length(); from += PRESCAN_CHUNK) {
+            final int to = Math.min(from + PRESCAN_CHUNK, name.length());
+            name.getChars(from, to, chunk, 0);
+            if (table.containsTrigger(chunk, to - from)) {
+                return true;
+            }
         }
-        return isUpperCase(letter.charAt(0)) ? newCh : newCh.toLowerCase();
+        return false;
+    }
+
+    /**
+     * Translates all {@code names} in {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #translateAll(List, ForkJoinPool)
+     */
+    public List<TranslationResult> translateAll(final List<String> names) {
+        return translateAll(names, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Translates all {@code names} in parallel. Names are split in ranges of
+     * {@value #BULK_THRESHOLD}, every worker of {@code pool} uses its own buffer.
+     *
+     * @return results in order of {@code names}
+     */
+    public List<TranslationResult> translateAll(final List<String> names, final ForkJoinPool pool) {
+        final String[] source = names.toArray(new String[0]);
+        final TranslationResult[] results = new TranslationResult[source.length];
+        pool.invoke(new TranslateAllTask(source, results, 0, source.length));
+        return Arrays.asList(results);
     }
 
-    private List<String> getWordsFromName(final String name) {
-        final List<String> result = new ArrayList<>();
-        final StringBuilder stringBuilder = new StringBuilder();
-        for (int i = 0; i < name.length(); i++) {
-            final char letter = name.charAt(i);
-            if (isBorder(letter)) {
-                stringBuilder.append(letter);
-                result.add(stringBuilder.toString());
-                stringBuilder.setLength(0);
+    /**
+     * Translates file name in range {@code [from, to)} to {@code out} in one pass.
+     * Name is split to words by {@link ua.mibal.cyrillicFileRenamer.model.Border}
+     * letters, words without cyrillic letters and extension are copied as is.
+     *
+     * @return {@link #TRANSLATED}, {@link #NO_CYRILLIC} or the first unsupported letter
+     */
+    int translateInto(final CharSequence name, final int from, final int to,
+                      final TranslationBuffer out) {
+        boolean cyrillicName = false;
+        // Unsupported letter of current dot-separated part, fails only if part isn't an extension
+        int pendingIllegal = NONE;
+        int lastDot = -1;
+        int lastDotOut = -1;
+
+        int wordStart = from;
+        while (true) {
+            final int wordStartOut = out.length();
+            boolean wordHasTrigger = false;
+            boolean wordHasCyrillic = false;
+            int wordIllegal = NONE;
+            int i = wordStart;
+            char[] cached = null;
+            if (wordCache != null) {
+                i = table.wordEnd(name, wordStart, to);
+                cached = wordCache.get(name, wordStart, i);
+            }
+            if (cached != null) {
+                out.append(cached);
+                wordHasTrigger = true;
             } else {
-                stringBuilder.append(letter);
+                i = wordStart;
+                char previous = 0;
+                while (i < to) {
+                    final char letter = name.charAt(i++);
+                    if (!table.isCyrillic(letter)) {
+                        out.append(letter);
+                    } else {
+                        wordHasCyrillic = true;
+                        if (table.isTrigger(letter)) {
+                            wordHasTrigger = true;
+                        }
+                        if (!appendLetter(name, i - 1, to, i - 1 - wordStart, previous, out) &&
+                            wordIllegal == NONE) {
+                            wordIllegal = letter;
+                        }
+                    }
+                    if (table.isBorder(letter)) {
+                        break;
+                    }
+                    previous = letter;
+                }
+                if (wordCache != null && wordHasTrigger && wordIllegal == NONE) {
+                    wordCache.put(name, wordStart, i, out, wordStartOut);
+                }
+            }
+            // End of word, i points to the next one
+            if (wordHasTrigger) {
+                cyrillicName = true;
+                if (pendingIllegal == NONE) {
+                    pendingIllegal = wordIllegal;
+                }
+            } else if (wordHasCyrillic) {
+                out.setLength(wordStartOut);
+                out.append(name, wordStart, i);
+            }
+            if (i > wordStart && name.charAt(i - 1) == '.') {
+                if (pendingIllegal != NONE) {
+                    return pendingIllegal;
+                }
+                lastDot = i - 1;
+                lastDotOut = out.length();
+            }
+            if (i >= to) {
+                break;
             }
+            wordStart = i;
         }
-        result.add(stringBuilder.toString());
-        return List.copyOf(result);
+        if (!cyrillicName) {
+            return NO_CYRILLIC;
+        }
+        if (lastDot != -1) {
+            // Part after the last dot is an extension
+            out.setLength(lastDotOut);
+            out.append(name, lastDot + 1, to);
+            return TRANSLATED;
+        }
+        return pendingIllegal == NONE ? TRANSLATED : pendingIllegal;
     }
 
-    private String getNameWithoutExtension(final String fullName) {
-        int index = fullName.lastIndexOf(".");
-        if (index == -1) {
-            return fullName;
+    /**
+     * Translates file name in range {@code [from, to)} of {@code name} and appends it
+     * to {@code out} without intermediate strings. Nothing is appended if name isn't
+     * translated, use {@link #tryTranslate(String)} to find out unsupported letter.
+     */
+    public Status translate(final CharSequence name, final int from, final int to,
+                            final Appendable out) throws IOException {
+        checkFromToIndex(from, to, name.length());
+        final TranslationBuffer buffer = buffers.get();
+        buffer.reset();
+        final int status = translateInto(name, from, to, buffer);
+        if (status == NO_CYRILLIC) {
+            return Status.UNCHANGED;
+        }
+        if (status != TRANSLATED) {
+            return Status.UNSUPPORTED;
         }
-        return fullName.substring(0, index);
+        buffer.appendTo(out);
+        return Status.TRANSLATED;
     }
 
-    private String getExtension(final String fullName) {
-        int index = fullName.lastIndexOf(".");
-        if (index == -1) {
-            return "";
+    String translateWord(final String word) throws IllegalLanguageException {
+        final TranslationBuffer buffer = buffers.get();
+        buffer.reset();
+        for (int i = 0; i < word.length(); i++) {
+            final char letter = word.charAt(i);
+            if (!table.isCyrillic(letter)) {
+                buffer.append(letter);
+            } else if (!appendLetter(word, i, word.length(), i, i == 0 ? 0 : word.charAt(i - 1), buffer)) {
+                throw new IllegalLanguageException(valueOf(letter), rules.getName());
+            }
         }
-        return fullName.substring(index);
+        return buffer.toString();
     }
 
-    private boolean notContainCyrillicLetters(final String string) {
-        return !string.matches(REG_EXP);
+    /**
+     * Appends translation of cyrillic letter at {@code i} to {@code out}.
+     *
+     * @return {@code false} if letter is unsupported
+     */
+    private boolean appendLetter(final CharSequence name, final int i, final int to,
+                                 final int index, final char previous,
+                                 final TranslationBuffer out) {
+        final char letter = name.charAt(i);
+        char[] newLetter = null;
+        if (table.hasContext(letter)) {
+            newLetter = table.contextual(name, i, to, index, previous);
+        }
+        if (newLetter == null) {
+            newLetter = table.regular(letter);
+            if (newLetter == null) {
+                return false;
+            }
+        }
+        out.append(newLetter);
+        return true;
     }
 
-    protected boolean isSpecialLetter(final String letter) {
-        return specialLetters.containsKey(letter.toUpperCase());
-    }
+    private final class TranslateAllTask extends RecursiveAction {
 
-    protected boolean letterIsNotCyrillic(final String letter) {
-        return !UnicodeBlock.of(letter.charAt(0)).equals(UnicodeBlock.CYRILLIC) &&
-               !letter.equals("'") && !letter.equals("’");
-    }
+        private final static long serialVersionUID = 1L;
 
-    protected boolean isHolosnyy(final char ch) {
-        return holosni.contains(valueOf(ch).toUpperCase());
-    }
+        private final String[] names;
 
-    protected boolean isZnakMiakshennia(final char ch) {
-        return (ch == '\'' || ch == '’' || toUpperCase(ch) == 'Ь');
+        private final TranslationResult[] results;
+
+        private final int from;
+
+        private final int to;
+
+        private TranslateAllTask(final String[] names, final TranslationResult[] results,
+                                 final int from, final int to) {
+            this.names = names;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BULK_THRESHOLD) {
+                final char[] chunk = new char[PRESCAN_CHUNK];
+                for (int i = from; i < to; i++) {
+                    results[i] = needsTranslation(names[i], chunk)
+                        ? tryTranslate(names[i])
+                        : TranslationResult.unchanged(names[i]);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                new TranslateAllTask(names, results, from, middle),
+                new TranslateAllTask(names, results, middle, to)
+            );
+        }
     }
 }
@@ -17,46 +17,22 @@
 
 package ua.mibal.cyrillicFileRenamer.component.translators;
 
-import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
-import static java.lang.Character.isUpperCase;
-import static java.lang.String.valueOf;
-
 /**
  * @author Mykhailo Balakhon
  * @link https://t.me/mibal_ua
  */
 public final class ExtendedLetterTranslator extends AbstractLetterTranslator {
 
+    public ExtendedLetterTranslator() {
+        super(StandardRules.UKRAINIAN_EXTENDED, null);
+    }
+
+    private ExtendedLetterTranslator(final WordCache wordCache) {
+        super(StandardRules.UKRAINIAN_EXTENDED, wordCache);
+    }
+
     @Override
-    protected String translateWord(final String word) throws IllegalLanguageException {
-        final StringBuilder newName = new StringBuilder();
-        String letter;
-        for (int i = 0; i < word.length(); i++) {
-            letter = valueOf(word.charAt(i));
-            if (letterIsNotCyrillic(letter)) {
-                newName.append(letter);
-                continue;
-            }
-            String newLetter;
-            if (isSpecialLetter(letter)) {
-                if (i == 0) {
-                    newLetter = convertSpecial(letter);
-                } else if ((isHolosnyy(word.charAt(i - 1)) ||
-                            isZnakMiakshennia(word.charAt(i - 1)))) {
-                    newLetter = convertSpecial(letter);
-                } else {
-                    newLetter = convert(letter);
-                }
-            } else if (i != 0 &&
-                       letter.equalsIgnoreCase("Г") &&
-                       valueOf(word.charAt(i - 1))
-                           .equalsIgnoreCase("З")) {
-                newLetter = isUpperCase(letter.charAt(0)) ? "Gh" : "gh";
-            } else {
-                newLetter = convert(letter);
-            }
-            newName.append(newLetter);
-        }
-        return newName.toString();
+    public ExtendedLetterTranslator withWordCache(final int capacity) {
+        return new ExtendedLetterTranslator(new WordCache(capacity));
     }
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import static java.util.Objects.requireNonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transliteration standard defined as data: letters map and context rules
+ * that replace translation of a letter in some position of a word.
+ * Rules are compiled once into {@link LetterTable}, so translation by any
+ * standard costs the same per letter.
+ *
+ * <p>Letters and rules are defined in upper case, lower case letters are
+ * translated to lower case form of the same output.
+ *
+ * <p>Rules are immutable, table is compiled once on first use by any thread.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class LetterRules {
+
+    private final String name;
+
+    private final Map<String, String> letters;
+
+    private final String extraLetters;
+
+    private final String triggers;
+
+    private final List<Rule> rules;
+
+    private volatile LetterTable table;
+
+    private LetterRules(final Builder builder) {
+        this.name = requireNonNull(builder.name);
+        this.letters = Map.copyOf(builder.letters);
+        this.extraLetters = builder.extraLetters;
+        this.triggers = builder.triggers;
+        this.rules = List.copyOf(builder.rules);
+    }
+
+    public static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Map<String, String> getLetters() {
+        return letters;
+    }
+
+    String getExtraLetters() {
+        return extraLetters;
+    }
+
+    /**
+     * @return letters that mark name as cyrillic or {@code null} if any letter of standard does
+     */
+    String getTriggers() {
+        return triggers;
+    }
+
+    List<Rule> getRules() {
+        return rules;
+    }
+
+    LetterTable table() {
+        LetterTable result = table;
+        if (result == null) {
+            synchronized (this) {
+                result = table;
+                if (result == null) {
+                    table = result = LetterTable.compile(this);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Position of a letter in word, conditions are combined with {@link #and(Context)}.
+     */
+    public static final class Context {
+
+        final boolean initial;
+
+        final String after;
+
+        final String before;
+
+        final boolean end;
+
+        private Context(final boolean initial, final String after,
+                        final String before, final boolean end) {
+            this.initial = initial;
+            this.after = after;
+            this.before = before;
+            this.end = end;
+        }
+
+        /**
+         * Letter is the first in word.
+         */
+        public static Context initial() {
+            return new Context(true, null, null, false);
+        }
+
+        /**
+         * Letter follows one of {@code letters} in the same word.
+         */
+        public static Context after(final String letters) {
+            return new Context(false, requireNonNull(letters), null, false);
+        }
+
+        /**
+         * Letter is followed by one of {@code letters} in the same word.
+         */
+        public static Context before(final String letters) {
+            return new Context(false, null, requireNonNull(letters), false);
+        }
+
+        /**
+         * Letter is the last in word.
+         */
+        public static Context end() {
+            return new Context(false, null, null, true);
+        }
+
+        public Context and(final Context other) {
+            if ((after != null && other.after != null) || (before != null && other.before != null)) {
+                throw new IllegalArgumentException("Context can't have two 'after' or 'before' conditions");
+            }
+            return new Context(
+                initial || other.initial,
+                after != null ? after : other.after,
+                before != null ? before : other.before,
+                end || other.end
+            );
+        }
+    }
+
+    static final class Rule {
+
+        final String letter;
+
+        final Context context;
+
+        final String output;
+
+        private Rule(final String letter, final Context context, final String output) {
+            this.letter = letter;
+            this.context = context;
+            this.output = output;
+        }
+    }
+
+    public static final class Builder {
+
+        private final String name;
+
+        private final Map<String, String> letters = new HashMap<>();
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        private String extraLetters = "";
+
+        private String triggers;
+
+        private Builder(final String name) {
+            this.name = name;
+        }
+
+        public Builder letters(final Map<String, String> letters) {
+            this.letters.putAll(letters);
+            return this;
+        }
+
+        /**
+         * Not cyrillic letters that standard translates, like apostrophes.
+         * Letters of cyrillic block are always translated.
+         */
+        public Builder extraLetters(final String extraLetters) {
+            this.extraLetters = requireNonNull(extraLetters);
+            return this;
+        }
+
+        /**
+         * Words are translated only if they contain one of {@code triggers},
+         * by default any letter of the standard.
+         */
+        public Builder triggers(final String triggers) {
+            this.triggers = requireNonNull(triggers);
+            return this;
+        }
+
+        /**
+         * Translates {@code letter} to {@code output} in {@code context},
+         * the first matching rule of letter wins.
+         */
+        public Builder rule(final String letter, final Context context, final String output) {
+            if (letter.length() != 1) {
+                throw new IllegalArgumentException("Rule must be defined for one letter, but was '" + letter + "'");
+            }
+            rules.add(new Rule(letter, requireNonNull(context), requireNonNull(output)));
+            return this;
+        }
+
+        public LetterRules build() {
+            return new LetterRules(this);
+        }
+    }
+}
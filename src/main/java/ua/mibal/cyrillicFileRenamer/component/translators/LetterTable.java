@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context;
+import ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Rule;
+import ua.mibal.cyrillicFileRenamer.model.Border;
+import static java.lang.Character.isUpperCase;
+import static java.lang.String.valueOf;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link LetterRules} compiled into char-indexed tables, so the translation
+ * of one letter is an array lookup without any allocation.
+ * Only letters with context rules check their neighbours.
+ * Table is immutable after compilation, so it's shared by all threads.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class LetterTable {
+
+    private final static int CYRILLIC = 1;
+
+    private final static int CONTEXT = 1 << 1;
+
+    private final static int BORDER = 1 << 2;
+
+    private final static int TRIGGER = 1 << 3;
+
+    private final static char CYRILLIC_FIRST = '\u0400';
+
+    private final static char CYRILLIC_LAST = '\u04FF';
+
+    private final byte[] flags;
+
+    private final char[][] regular;
+
+    private final CompiledRule[][] contextual;
+
+    // Names with all letters below it can't contain a trigger
+    private final char minTrigger;
+
+    private LetterTable(final byte[] flags, final char[][] regular,
+                        final CompiledRule[][] contextual, final char minTrigger) {
+        this.flags = flags;
+        this.regular = regular;
+        this.contextual = contextual;
+        this.minTrigger = minTrigger;
+    }
+
+    static LetterTable compile(final LetterRules rules) {
+        final StringBuilder owned = new StringBuilder();
+        for (char ch = CYRILLIC_FIRST; ch <= CYRILLIC_LAST; ch++) {
+            owned.append(ch);
+        }
+        owned.append(rules.getExtraLetters());
+
+        int size = CYRILLIC_LAST + 1;
+        for (int i = 0; i < owned.length(); i++) {
+            size = Math.max(size, owned.charAt(i) + 1);
+        }
+        for (final Border border : Border.values()) {
+            size = Math.max(size, border.getBorder().charAt(0) + 1);
+        }
+        final byte[] flags = new byte[size];
+        final char[][] regular = new char[size][];
+        final CompiledRule[][] contextual = new CompiledRule[size][];
+
+        final Map<String, String> letters = rules.getLetters();
+        final String triggers = rules.getTriggers();
+        char minTrigger = Character.MAX_VALUE;
+        for (int i = 0; i < owned.length(); i++) {
+            final char ch = owned.charAt(i);
+            final String key = valueOf(ch).toUpperCase();
+            int flag = CYRILLIC;
+            regular[ch] = caseOf(ch, letters.get(key));
+            final List<CompiledRule> letterRules = new ArrayList<>();
+            for (final Rule rule : rules.getRules()) {
+                if (rule.letter.equals(key)) {
+                    letterRules.add(new CompiledRule(rule.context, caseOf(ch, rule.output)));
+                }
+            }
+            if (!letterRules.isEmpty()) {
+                contextual[ch] = letterRules.toArray(new CompiledRule[0]);
+                flag |= CONTEXT;
+            }
+            final boolean trigger = triggers == null
+                ? ch >= CYRILLIC_FIRST && ch <= CYRILLIC_LAST && letters.containsKey(key)
+                : triggers.contains(key);
+            if (trigger) {
+                flag |= TRIGGER;
+                minTrigger = (char) Math.min(minTrigger, ch);
+            }
+            flags[ch] |= flag;
+        }
+        for (final Border border : Border.values()) {
+            flags[border.getBorder().charAt(0)] |= BORDER;
+        }
+        return new LetterTable(flags, trim(regular), trim(contextual), minTrigger);
+    }
+
+    private static char[] caseOf(final char ch, final String newCh) {
+        if (newCh == null) {
+            return null;
+        }
+        return (isUpperCase(ch) ? newCh : newCh.toLowerCase()).toCharArray();
+    }
+
+    private static <T> T[] trim(final T[] table) {
+        int length = table.length;
+        while (length > 0 && table[length - 1] == null) {
+            length--;
+        }
+        return Arrays.copyOf(table, length);
+    }
+
+    /**
+     * @return translation of letter or {@code null} if letter is unsupported
+     */
+    char[] regular(final char ch) {
+        return ch < regular.length ? regular[ch] : null;
+    }
+
+    /**
+     * Translates letter at {@code i} by its context rules, letters after {@code to}
+     * don't belong to the word.
+     *
+     * @param index    position of letter in word
+     * @param previous letter before, undefined if index is 0
+     * @return translation by the first matching rule or {@code null} if no one matches
+     */
+    char[] contextual(final CharSequence name, final int i, final int to,
+                      final int index, final char previous) {
+        for (final CompiledRule rule : contextual[name.charAt(i)]) {
+            if (rule.initial && index != 0) {
+                continue;
+            }
+            if (rule.after != null && (index == 0 || !rule.after.get(previous))) {
+                continue;
+            }
+            if (rule.before != null || rule.end) {
+                final boolean last = i + 1 >= to || isBorder(name.charAt(i + 1));
+                if (rule.end && !last) {
+                    continue;
+                }
+                if (rule.before != null && (last || !rule.before.get(name.charAt(i + 1)))) {
+                    continue;
+                }
+            }
+            return rule.output;
+        }
+        return null;
+    }
+
+    private int flags(final char ch) {
+        return ch < flags.length ? flags[ch] : 0;
+    }
+
+    boolean isCyrillic(final char ch) {
+        return (flags(ch) & CYRILLIC) != 0;
+    }
+
+    boolean hasContext(final char ch) {
+        return (flags(ch) & CONTEXT) != 0;
+    }
+
+    boolean isBorder(final char ch) {
+        return (flags(ch) & BORDER) != 0;
+    }
+
+    /**
+     * @return index after the first border letter in range {@code [from, to)} or {@code to}
+     */
+    int wordEnd(final CharSequence name, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (isBorder(name.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * @return {@code true} if letter is one of letters that mark name as cyrillic
+     */
+    boolean isTrigger(final char ch) {
+        return (flags(ch) & TRIGGER) != 0;
+    }
+
+    /**
+     * Checks {@code chunk} for trigger letters. Letters are OR-ed first, so a chunk
+     * with all letters below the lowest trigger, like pure latin one, is rejected
+     * by one comparison and only other chunks are checked letter by letter.
+     */
+    boolean containsTrigger(final char[] chunk, final int length) {
+        int any = 0;
+        for (int i = 0; i < length; i++) {
+            any |= chunk[i];
+        }
+        if (any < minTrigger) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (isTrigger(chunk[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class CompiledRule {
+
+        private final boolean initial;
+
+        private final BitSet after;
+
+        private final BitSet before;
+
+        private final boolean end;
+
+        private final char[] output;
+
+        private CompiledRule(final Context context, final char[] output) {
+            this.initial = context.initial;
+            this.after = lettersOf(context.after);
+            this.before = lettersOf(context.before);
+            this.end = context.end;
+            this.output = output;
+        }
+
+        private static BitSet lettersOf(final String letters) {
+            if (letters == null) {
+                return null;
+            }
+            final BitSet result = new BitSet();
+            for (int i = 0; i < letters.length(); i++) {
+                final char ch = letters.charAt(i);
+                result.set(ch);
+                result.set(Character.toLowerCase(ch));
+                result.set(Character.toUpperCase(ch));
+            }
+            return result;
+        }
+    }
+}
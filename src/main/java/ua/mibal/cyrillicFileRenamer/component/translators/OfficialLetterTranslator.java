@@ -17,10 +17,6 @@
 
 package ua.mibal.cyrillicFileRenamer.component.translators;
 
-import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
-import static java.lang.Character.isUpperCase;
-import static java.lang.String.valueOf;
-
 /**
  * @author Mykhailo Balakhon
  * @link https://t.me/mibal_ua
@@ -28,32 +24,15 @@ import static java.lang.String.valueOf;
 public final class OfficialLetterTranslator extends AbstractLetterTranslator {
 
     public OfficialLetterTranslator() {
-        super();
+        super(StandardRules.UKRAINIAN_OFFICIAL, null);
+    }
+
+    private OfficialLetterTranslator(final WordCache wordCache) {
+        super(StandardRules.UKRAINIAN_OFFICIAL, wordCache);
     }
 
     @Override
-    protected String translateWord(final String word) throws IllegalLanguageException {
-        final StringBuilder newName = new StringBuilder();
-        String letter;
-        for (int i = 0; i < word.length(); i++) {
-            letter = String.valueOf(word.charAt(i));
-            if (letterIsNotCyrillic(letter)) {
-                newName.append(letter);
-                continue;
-            }
-            String newLetter;
-            if (i == 0 && isSpecialLetter(letter)) {
-                newLetter = convertSpecial(letter);
-            } else if (i != 0 &&
-                       letter.equalsIgnoreCase("Г") &&
-                       valueOf(word.charAt(i - 1))
-                           .equalsIgnoreCase("З")) {
-                newLetter = isUpperCase(letter.charAt(0)) ? "Gh" : "gh";
-            } else {
-                newLetter = convert(letter);
-            }
-            newName.append(newLetter);
-        }
-        return newName.toString();
+    public OfficialLetterTranslator withWordCache(final int capacity) {
+        return new OfficialLetterTranslator(new WordCache(capacity));
     }
 }
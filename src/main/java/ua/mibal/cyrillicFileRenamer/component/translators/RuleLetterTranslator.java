@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+/**
+ * Translator of any standard defined by {@link LetterRules}.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class RuleLetterTranslator extends AbstractLetterTranslator {
+
+    public RuleLetterTranslator(final LetterRules rules) {
+        super(rules, null);
+    }
+
+    private RuleLetterTranslator(final LetterRules rules, final WordCache wordCache) {
+        super(rules, wordCache);
+    }
+
+    @Override
+    public RuleLetterTranslator withWordCache(final int capacity) {
+        return new RuleLetterTranslator(getRules(), new WordCache(capacity));
+    }
+}
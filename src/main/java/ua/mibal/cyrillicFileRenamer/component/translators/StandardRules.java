@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Builder;
+import static java.util.Map.entry;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.after;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.before;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.end;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.initial;
+import java.util.Map;
+
+/**
+ * Built-in transliteration standards.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class StandardRules {
+
+    private final static Map<String, String> ukrainianSpecialLetters = Map.of(
+        "Є", "Ye",
+        "Ї", "Yi",
+        "Й", "Y",
+        "Ю", "Yu",
+        "Я", "Ya"
+    );
+
+    private final static Map<String, String> ukrainianLetters = Map.ofEntries(
+        entry("А", "A"),
+        entry("Б", "B"),
+        entry("В", "V"),
+        entry("Г", "H"),
+        entry("Ґ", "G"),
+        entry("Д", "D"),
+        entry("Е", "E"),
+        entry("Є", "Ie"),
+        entry("Ж", "Zh"),
+        entry("З", "Z"),
+        entry("И", "Y"),
+        entry("І", "I"),
+        entry("Ї", "I"),
+        entry("Й", "I"),
+        entry("К", "K"),
+        entry("Л", "L"),
+        entry("М", "M"),
+        entry("Н", "N"),
+        entry("О", "O"),
+        entry("П", "P"),
+        entry("Р", "R"),
+        entry("С", "S"),
+        entry("Т", "T"),
+        entry("У", "U"),
+        entry("Ф", "F"),
+        entry("Х", "Kh"),
+        entry("Ц", "Ts"),
+        entry("Ч", "Ch"),
+        entry("Ш", "Sh"),
+        entry("Щ", "Shch"),
+        entry("Ь", ""),
+        entry("'", ""),
+        entry("Ю", "Iu"),
+        entry("Я", "Ia")
+    );
+
+    // Holosni and znaky miakshennia
+    private final static String ukrainianSoftening = "АЕЄИІЇОУЮЯЬ'’";
+
+    // Names without these letters were never translated
+    private final static String ukrainianTriggers = "АБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ";
+
+    // https://zakon.rada.gov.ua/laws/show/55-2010-%D0%BF
+    public final static LetterRules UKRAINIAN_OFFICIAL = ukrainian("Ukrainian official")
+        .build();
+
+    // Official standard that also uses initial form of 'Є', 'Ї', 'Й', 'Ю', 'Я' after vowels
+    public final static LetterRules UKRAINIAN_EXTENDED = withSpecialForms(
+        ukrainian("Ukrainian extended"), after(ukrainianSoftening)
+    ).build();
+
+    // GOST 7.79-2000, system B
+    public final static LetterRules RUSSIAN_GOST = LetterRules.builder("GOST 7.79-2000")
+        .letters(Map.ofEntries(
+            entry("А", "A"), entry("Б", "B"), entry("В", "V"), entry("Г", "G"),
+            entry("Д", "D"), entry("Е", "E"), entry("Ё", "Yo"), entry("Ж", "Zh"),
+            entry("З", "Z"), entry("И", "I"), entry("Й", "J"), entry("К", "K"),
+            entry("Л", "L"), entry("М", "M"), entry("Н", "N"), entry("О", "O"),
+            entry("П", "P"), entry("Р", "R"), entry("С", "S"), entry("Т", "T"),
+            entry("У", "U"), entry("Ф", "F"), entry("Х", "X"), entry("Ц", "Cz"),
+            entry("Ч", "Ch"), entry("Ш", "Sh"), entry("Щ", "Shh"), entry("Ъ", "``"),
+            entry("Ы", "Y'"), entry("Ь", "`"), entry("Э", "E`"), entry("Ю", "Yu"),
+            entry("Я", "Ya")
+        ))
+        .rule("Ц", before("ЕИЫЙ"), "C")
+        .build();
+
+    // BGN/PCGN 1979 with 'ie', 'io', 'iu', 'ia' after consonants as in passports
+    public final static LetterRules BELARUSIAN = withBelarusianIotation(
+        LetterRules.builder("Belarusian")
+            .letters(Map.ofEntries(
+                entry("А", "A"), entry("Б", "B"), entry("В", "V"), entry("Г", "H"),
+                entry("Ґ", "G"), entry("Д", "D"), entry("Е", "Ie"), entry("Ё", "Io"),
+                entry("Ж", "Zh"), entry("З", "Z"), entry("І", "I"), entry("Й", "Y"),
+                entry("К", "K"), entry("Л", "L"), entry("М", "M"), entry("Н", "N"),
+                entry("О", "O"), entry("П", "P"), entry("Р", "R"), entry("С", "S"),
+                entry("Т", "T"), entry("У", "U"), entry("Ў", "W"), entry("Ф", "F"),
+                entry("Х", "Kh"), entry("Ц", "Ts"), entry("Ч", "Ch"), entry("Ш", "Sh"),
+                entry("Ы", "Y"), entry("Ь", ""), entry("Э", "E"), entry("Ю", "Iu"),
+                entry("Я", "Ia"), entry("'", ""), entry("’", "")
+            ))
+            .extraLetters("'’")
+    ).build();
+
+    // Streamlined System, https://www.lex.bg/laws/ldoc/2135623708
+    public final static LetterRules BULGARIAN = LetterRules.builder("Bulgarian")
+        .letters(Map.ofEntries(
+            entry("А", "A"), entry("Б", "B"), entry("В", "V"), entry("Г", "G"),
+            entry("Д", "D"), entry("Е", "E"), entry("Ж", "Zh"), entry("З", "Z"),
+            entry("И", "I"), entry("Й", "Y"), entry("К", "K"), entry("Л", "L"),
+            entry("М", "M"), entry("Н", "N"), entry("О", "O"), entry("П", "P"),
+            entry("Р", "R"), entry("С", "S"), entry("Т", "T"), entry("У", "U"),
+            entry("Ф", "F"), entry("Х", "H"), entry("Ц", "Ts"), entry("Ч", "Ch"),
+            entry("Ш", "Sh"), entry("Щ", "Sht"), entry("Ъ", "A"), entry("Ь", "Y"),
+            entry("Ю", "Yu"), entry("Я", "Ya")
+        ))
+        .rule("Я", after("И").and(end()), "A")
+        .build();
+
+    // ISO 9:1995, one letter for one letter with diacritics
+    public final static LetterRules ISO_9 = LetterRules.builder("ISO 9")
+        .letters(Map.ofEntries(
+            entry("А", "A"), entry("Б", "B"), entry("В", "V"), entry("Г", "G"),
+            entry("Ґ", "G̀"), entry("Д", "D"), entry("Ѓ", "Ǵ"), entry("Ђ", "Đ"),
+            entry("Е", "E"), entry("Ё", "Ë"), entry("Є", "Ê"), entry("Ж", "Ž"),
+            entry("З", "Z"), entry("Ѕ", "Ẑ"), entry("И", "I"), entry("І", "Ì"),
+            entry("Ї", "Ï"), entry("Й", "J"), entry("Ј", "J̌"), entry("К", "K"),
+            entry("Л", "L"), entry("Љ", "L̂"), entry("М", "M"), entry("Н", "N"),
+            entry("Њ", "N̂"), entry("О", "O"), entry("П", "P"), entry("Р", "R"),
+            entry("С", "S"), entry("Т", "T"), entry("Ќ", "Ḱ"), entry("Ћ", "Ć"),
+            entry("У", "U"), entry("Ў", "Ǔ"), entry("Ф", "F"), entry("Х", "H"),
+            entry("Ц", "C"), entry("Ч", "Č"), entry("Џ", "D̂"), entry("Ш", "Š"),
+            entry("Щ", "Ŝ"), entry("Ъ", "ʺ"), entry("Ы", "Y"), entry("Ь", "ʹ"),
+            entry("Э", "È"), entry("Ю", "Û"), entry("Я", "Â")
+        ))
+        .build();
+
+    private StandardRules() {
+    }
+
+    private static Builder ukrainian(final String name) {
+        return withSpecialForms(
+            LetterRules.builder(name)
+                .letters(ukrainianLetters)
+                .extraLetters("'’")
+                .triggers(ukrainianTriggers)
+                .rule("Г", after("З"), "Gh"),
+            initial()
+        );
+    }
+
+    private static Builder withSpecialForms(final Builder builder, final LetterRules.Context context) {
+        ukrainianSpecialLetters.forEach((letter, special) -> builder.rule(letter, context, special));
+        return builder;
+    }
+
+    private static Builder withBelarusianIotation(final Builder builder) {
+        final Map<String, String> iotated = Map.of("Е", "Ye", "Ё", "Yo", "Ю", "Yu", "Я", "Ya");
+        iotated.forEach((letter, form) -> builder
+            .rule(letter, initial(), form)
+            .rule(letter, after("АЕЁІОУЫЭЮЯЎЬЙ'’"), form));
+        return builder;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import static java.util.Objects.checkFromToIndex;
+import static java.util.Objects.checkIndex;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Reusable growing char buffer for translated names.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+final class TranslationBuffer implements CharSequence {
+
+    private char[] value = new char[256];
+
+    private int length;
+
+    void append(final char ch) {
+        ensureCapacity(length + 1);
+        value[length++] = ch;
+    }
+
+    void append(final char[] chars) {
+        ensureCapacity(length + chars.length);
+        System.arraycopy(chars, 0, value, length, chars.length);
+        length += chars.length;
+    }
+
+    void append(final CharSequence chars, final int from, final int to) {
+        ensureCapacity(length + to - from);
+        for (int i = from; i < to; i++) {
+            value[length++] = chars.charAt(i);
+        }
+    }
+
+    char[] copyOfRange(final int from) {
+        return Arrays.copyOfRange(value, from, length);
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        checkIndex(index, length);
+        return value[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        checkFromToIndex(start, end, length);
+        return new String(value, start, end - start);
+    }
+
+    /**
+     * Appends content to {@code out}, without copying to string for known sinks.
+     */
+    void appendTo(final Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value, 0, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(value, 0, length);
+        } else {
+            out.append(this, 0, length);
+        }
+    }
+
+    void setLength(final int length) {
+        this.length = length;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > value.length) {
+            value = Arrays.copyOf(value, Math.max(capacity, value.length * 2));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(value, 0, length);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import static java.lang.String.format;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded thread-safe cache of translated words.
+ * Words are split between segments, each segment evicts its least recently used word.
+ * Lookup doesn't create strings, so hit costs a hash of the word and a map lookup.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class WordCache {
+
+    private final static int MAX_SEGMENTS = 16;
+
+    private final static int MIN_SEGMENT_CAPACITY = 16;
+
+    private final ThreadLocal<Key> probes = ThreadLocal.withInitial(Key::new);
+
+    private final Segment[] segments;
+
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public WordCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive, but was " + capacity);
+        }
+        final int segmentCount = Integer.highestOneBit(
+            Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[segmentCount];
+        final int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return translation of word in range {@code [from, to)} or {@code null}
+     */
+    char[] get(final CharSequence word, final int from, final int to) {
+        final Key probe = probes.get().set(word, from, to);
+        final Segment segment = segmentFor(probe.hash);
+        final char[] translation;
+        synchronized (segment) {
+            translation = segment.get(probe);
+        }
+        probe.release();
+        if (translation == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return translation;
+    }
+
+    /**
+     * Caches word in range {@code [from, to)} translated to {@code out} starting from {@code outFrom}.
+     */
+    void put(final CharSequence word, final int from, final int to,
+             final TranslationBuffer out, final int outFrom) {
+        final Key key = new Key().set(word.subSequence(from, to).toString(), 0, to - from);
+        final char[] translation = out.copyOfRange(outFrom);
+        final Segment segment = segmentFor(key.hash);
+        synchronized (segment) {
+            segment.put(key, translation);
+        }
+    }
+
+    private Segment segmentFor(final int hash) {
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return format("%d/%d words, %d hits, %d misses, %d evictions",
+            size(), capacity, getHits(), getMisses(), getEvictions());
+    }
+
+    private final class Segment extends LinkedHashMap<Key, char[]> {
+
+        private final static long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, char[]> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Range of chars compared by content, reused as lookup probe.
+     */
+    private final static class Key {
+
+        private CharSequence chars;
+
+        private int from;
+
+        private int length;
+
+        private int hash;
+
+        private Key set(final CharSequence chars, final int from, final int to) {
+            this.chars = chars;
+            this.from = from;
+            this.length = to - from;
+            int hash = 0;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + chars.charAt(i);
+            }
+            this.hash = hash;
+            return this;
+        }
+
+        private void release() {
+            chars = null;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            if (hash != key.hash || length != key.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (chars.charAt(from + i) != key.chars.charAt(key.from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.model;
+
+import ua.mibal.cyrillicFileRenamer.model.exceptions.DontContainCyrillicSymbolsException;
+import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
+import static java.lang.String.valueOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Outcome of file name translation.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class TranslationResult {
+
+    private final Status status;
+
+    private final String name;
+
+    private final char unsupportedLetter;
+
+    // Name of standard that doesn't support letter, null for supported names
+    private final String standard;
+
+    private TranslationResult(final Status status,
+                              final String name,
+                              final char unsupportedLetter,
+                              final String standard) {
+        this.status = status;
+        this.name = requireNonNull(name);
+        this.unsupportedLetter = unsupportedLetter;
+        this.standard = standard;
+    }
+
+    public static TranslationResult translated(final String newName) {
+        return new TranslationResult(Status.TRANSLATED, newName, (char) 0, null);
+    }
+
+    public static TranslationResult unchanged(final String oldName) {
+        return new TranslationResult(Status.UNCHANGED, oldName, (char) 0, null);
+    }
+
+    public static TranslationResult unsupported(final String oldName,
+                                                final char unsupportedLetter,
+                                                final String standard) {
+        return new TranslationResult(Status.UNSUPPORTED, oldName, unsupportedLetter, requireNonNull(standard));
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isTranslated() {
+        return status == Status.TRANSLATED;
+    }
+
+    /**
+     * @return new name if translated, otherwise old name
+     */
+    public String getName() {
+        return name;
+    }
+
+    public char getUnsupportedLetter() {
+        if (status != Status.UNSUPPORTED) {
+            throw new IllegalStateException("Name '" + name + "' has no unsupported letters");
+        }
+        return unsupportedLetter;
+    }
+
+    /**
+     * @return exception that describes why name isn't translated
+     */
+    public Exception toException() {
+        switch (status) {
+            case UNCHANGED:
+                return new DontContainCyrillicSymbolsException();
+            case UNSUPPORTED:
+                return new IllegalLanguageException(valueOf(unsupportedLetter), standard);
+            default:
+                throw new IllegalStateException("Name '" + name + "' is translated");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return status + ": " + name;
+    }
+
+    public enum Status {
+
+        TRANSLATED,
+
+        UNCHANGED,
+
+        UNSUPPORTED
+    }
+}
@@ -18,12 +18,20 @@
 package ua.mibal.cyrillicFileRenamer.model.exceptions;
 
 /**
+ * Thrown for every file without cyrillic letters, so stack trace isn't filled.
+ *
  * @author Mykhailo Balakhon
  * @link https://t.me/mibal_ua
  */
 public final class DontContainCyrillicSymbolsException extends Exception {
 
+    private final static long serialVersionUID = 1L;
+
+    public DontContainCyrillicSymbolsException() {
+        this("File don't contain cyrillic symbols");
+    }
+
     public DontContainCyrillicSymbolsException(final String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
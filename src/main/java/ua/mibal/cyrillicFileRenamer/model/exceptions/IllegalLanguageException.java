@@ -20,12 +20,20 @@ package ua.mibal.cyrillicFileRenamer.model.exceptions;
 import static java.lang.String.format;
 
 /**
+ * Describes unsupported letter of file name, so stack trace isn't filled.
+ *
  * @author Mykhailo Balakhon
  * @link https://t.me/mibal_ua
  */
 public final class IllegalLanguageException extends Exception {
 
-    public IllegalLanguageException(final String symbol) {
-        super(format("Name has illegal symbol '%s' but language is %s", symbol, "Ukrainian"));
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param standard name of transliteration standard that doesn't support {@code symbol}
+     */
+    public IllegalLanguageException(final String symbol, final String standard) {
+        super(format("Name has illegal symbol '%s' but standard is %s", symbol, standard),
+            null, false, false);
     }
 }
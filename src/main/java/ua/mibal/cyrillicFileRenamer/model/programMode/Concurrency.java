@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.model.programMode;
+
+import static java.lang.String.format;
+
+/**
+ * How many files are copied at once and on which threads.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class Concurrency {
+
+    private final Mode mode;
+
+    private final int limit;
+
+    private Concurrency(final Mode mode, final int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive, but was " + limit);
+        }
+        this.mode = mode;
+        this.limit = limit;
+    }
+
+    /**
+     * Fixed count of copying threads.
+     */
+    public static Concurrency threads(final int count) {
+        return new Concurrency(Mode.THREADS, count);
+    }
+
+    /**
+     * Every file is copied on its own thread, up to {@code maxInFlight} files at once.
+     * For slow network mounts, where threads mostly wait for the file system.
+     */
+    public static Concurrency threadPerFile(final int maxInFlight) {
+        return new Concurrency(Mode.THREAD_PER_FILE, maxInFlight);
+    }
+
+    /**
+     * Count of files copied at once is chosen by latency of copies and
+     * changes while files are copied, up to {@code max}.
+     */
+    public static Concurrency adaptive(final int max) {
+        return new Concurrency(Mode.ADAPTIVE, max);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return max count of files copied at once
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        switch (mode) {
+            case THREAD_PER_FILE:
+                return format("thread per file, up to %d files at once", limit);
+            case ADAPTIVE:
+                return format("adaptive, up to %d files at once", limit);
+            default:
+                return limit == 1 ? "1 thread" : format("%d threads", limit);
+        }
+    }
+
+    public enum Mode {
+
+        THREADS,
+
+        THREAD_PER_FILE,
+
+        ADAPTIVE
+    }
+}
@@ -20,6 +20,8 @@ package ua.mibal.cyrillicFileRenamer.model.programMode;
 import ua.mibal.cyrillicFileRenamer.component.translators.AbstractLetterTranslator;
 import ua.mibal.cyrillicFileRenamer.component.translators.ExtendedLetterTranslator;
 import ua.mibal.cyrillicFileRenamer.component.translators.OfficialLetterTranslator;
+import ua.mibal.cyrillicFileRenamer.component.translators.RuleLetterTranslator;
+import ua.mibal.cyrillicFileRenamer.component.translators.StandardRules;
 
 /**
  * @author Mykhailo Balakhon
@@ -29,7 +31,15 @@ public enum LetterStandard {
 
     OFFICIAL(new OfficialLetterTranslator()),
 
-    EXTENDED(new ExtendedLetterTranslator());
+    EXTENDED(new ExtendedLetterTranslator()),
+
+    GOST(new RuleLetterTranslator(StandardRules.RUSSIAN_GOST)),
+
+    BELARUSIAN(new RuleLetterTranslator(StandardRules.BELARUSIAN)),
+
+    BULGARIAN(new RuleLetterTranslator(StandardRules.BULGARIAN)),
+
+    ISO9(new RuleLetterTranslator(StandardRules.ISO_9));
 
     private final AbstractLetterTranslator letterTranslator;
 
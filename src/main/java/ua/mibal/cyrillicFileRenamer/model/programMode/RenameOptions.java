@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.model.programMode;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * How files of directory are renamed, options are immutable.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public final class RenameOptions {
+
+    private final static RenameOptions DEFAULTS = new RenameOptions(
+        Concurrency.threads(1), false, TransferMode.COPY, false, null, false, false, false
+    );
+
+    private final Concurrency concurrency;
+
+    private final boolean recursive;
+
+    private final TransferMode transferMode;
+
+    private final boolean incremental;
+
+    private final String planFile;
+
+    private final boolean ignoreCase;
+
+    private final boolean resume;
+
+    private final boolean dedup;
+
+    private RenameOptions(final Concurrency concurrency, final boolean recursive,
+                          final TransferMode transferMode, final boolean incremental,
+                          final String planFile, final boolean ignoreCase, final boolean resume,
+                          final boolean dedup) {
+        this.concurrency = requireNonNull(concurrency);
+        this.recursive = recursive;
+        this.transferMode = requireNonNull(transferMode);
+        this.incremental = incremental;
+        this.planFile = planFile;
+        this.ignoreCase = ignoreCase;
+        this.resume = resume;
+        this.dedup = dedup;
+    }
+
+    /**
+     * @return files of one directory are copied by one thread to resulting directory
+     */
+    public static RenameOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public RenameOptions withConcurrency(final Concurrency concurrency) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * Files of subdirectories are renamed too, structure of directories is
+     * mirrored with translated names of directories.
+     */
+    public RenameOptions withRecursive(final boolean recursive) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * With {@link TransferMode#MOVE} files are renamed in their own directories,
+     * names of directories are kept.
+     */
+    public RenameOptions withTransferMode(final TransferMode transferMode) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * Files renamed by previous run with this option are skipped if they aren't changed,
+     * works with {@link TransferMode#COPY} and {@link TransferMode#LINK}.
+     */
+    public RenameOptions withIncremental(final boolean incremental) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * Files aren't renamed, renames are planned and written to {@code planFile}
+     * to be applied later.
+     *
+     * @param planFile path of plan or {@code null} if files are renamed
+     */
+    public RenameOptions withPlanFile(final String planFile) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * New names that differ only by case are collisions, as on file systems of Windows and macOS.
+     */
+    public RenameOptions withIgnoreCase(final boolean ignoreCase) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * Interrupted run is continued by its journal: files renamed by it are skipped
+     * and incomplete results of other files are replaced.
+     */
+    public RenameOptions withResume(final boolean resume) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    /**
+     * Copies of content that is copied already are hard linked to the first copy,
+     * works with {@link TransferMode#COPY}.
+     */
+    public RenameOptions withDedup(final boolean dedup) {
+        return new RenameOptions(
+            concurrency, recursive, transferMode, incremental, planFile, ignoreCase, resume, dedup
+        );
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    public TransferMode getTransferMode() {
+        return transferMode;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public String getPlanFile() {
+        return planFile;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public boolean isDedup() {
+        return dedup;
+    }
+}
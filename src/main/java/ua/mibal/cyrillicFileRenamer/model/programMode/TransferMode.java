@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2022. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.model.programMode;
+
+/**
+ * How renamed file gets its new name.
+ *
+ * @author Mykhailo Balakhon
+ * @link https://t.me/mibal_ua
+ */
+public enum TransferMode {
+
+    /**
+     * Renamed copy is created in resulting directory, source files stay as is.
+     */
+    COPY,
+
+    /**
+     * Hard link with new name is created in resulting directory, so no data is copied.
+     * File is copied if it can't be linked, e.g. to another file system.
+     */
+    LINK,
+
+    /**
+     * File is renamed in its own directory by atomic move, no data is copied.
+     */
+    MOVE
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AimdConcurrencyLimit_UnitTest {
+
+    private final static int MAX = 32;
+
+    private final static long MS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @Order(1)
+    void limit_should_grow_to_max_while_latency_holds() throws Exception {
+        // NVMe: copies don't slow each other down
+        final AimdConcurrencyLimit limit = simulate(concurrency -> MS);
+        assertEquals(MAX, limit.getLimit());
+    }
+
+    @Test
+    @Order(2)
+    void limit_should_stay_low_when_latency_grows_without_throughput() throws Exception {
+        // Spinning disk: copies wait for each other, throughput is the same
+        final AimdConcurrencyLimit limit = simulate(concurrency -> concurrency * MS);
+        assertTrue(limit.getLimit() <= 3, "Limit is " + limit.getLimit());
+    }
+
+    @Test
+    @Order(3)
+    void limit_should_back_off_when_disk_becomes_slow() throws Exception {
+        final AimdConcurrencyLimit limit = simulate(concurrency -> MS);
+        runCopies(limit, concurrency -> concurrency * MS, 2_000);
+        assertTrue(limit.getLimit() <= 3, "Limit is " + limit.getLimit());
+    }
+
+    private AimdConcurrencyLimit simulate(final IntToLongFunction latency) throws Exception {
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(MAX, clock::get);
+        runCopies(limit, latency, 2_000);
+        return limit;
+    }
+
+    /**
+     * Copies files by {@code limit} at once, every copy takes {@code latency} of concurrency.
+     */
+    private void runCopies(final AimdConcurrencyLimit limit, final IntToLongFunction latency,
+                           final int files) throws Exception {
+        for (int copied = 0; copied < files; ) {
+            final int concurrency = limit.getLimit();
+            for (int i = 0; i < concurrency; i++) {
+                limit.acquire();
+            }
+            final long copyLatency = latency.applyAsLong(concurrency);
+            clock.addAndGet(copyLatency);
+            for (int i = 0; i < concurrency; i++) {
+                limit.release(copyLatency);
+            }
+            copied += concurrency;
+        }
+    }
+}
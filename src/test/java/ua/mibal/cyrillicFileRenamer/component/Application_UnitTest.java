@@ -0,0 +1,628 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import ua.mibal.cyrillicFileRenamer.component.FileManager.FileConsumer;
+import ua.mibal.cyrillicFileRenamer.component.console.ConsoleDataPrinter;
+import ua.mibal.cyrillicFileRenamer.model.exceptions.DontContainCyrillicSymbolsException;
+import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
+import ua.mibal.cyrillicFileRenamer.model.programMode.RenameOptions;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class Application_UnitTest {
+
+    private final static int FILES = 500;
+
+    @Mock
+    private DataPrinter dataPrinter;
+
+    @Mock
+    private FileManager fileManager;
+
+    // Catalog of mocked files, journal of run is written to it
+    @TempDir
+    Path catalog;
+
+    // Mocked files aren't on disk, names of zip file system are UTF-8 whatever locale of host is
+    private FileSystem mockedFiles;
+
+    private final Set<String> copiedNames = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        mockedFiles = FileSystems.newFileSystem(catalog.resolve("mockedFiles.zip"), Map.of("create", "true"));
+        final Path[] files = new Path[FILES];
+        for (int i = 0; i < FILES; i++) {
+            switch (i % 4) {
+                case 0:
+                    files[i] = mockedFiles.getPath("/dir/Фото " + i + ".jpg");
+                    break;
+                case 1:
+                    files[i] = mockedFiles.getPath("/dir/photo " + i + ".jpg");
+                    break;
+                case 2:
+                    files[i] = mockedFiles.getPath("/dir/Объём " + i + ".txt");
+                    break;
+                default:
+                    files[i] = mockedFiles.getPath("/dir/Звіт " + i + ".pdf");
+                    break;
+            }
+        }
+        doAnswer(invocation -> {
+            final FileConsumer action = invocation.getArgument(1);
+            for (final Path file : files) {
+                action.accept(file, null);
+            }
+            return null;
+        }).when(fileManager).forEachFile(anyString(), any());
+        doAnswer(invocation -> {
+            final String newName = invocation.getArgument(1);
+            if (newName.startsWith("Zvit") && !copiedNames.add("Zvit")) {
+                throw new FileAlreadyExistsException(newName);
+            }
+            copiedNames.add(newName);
+            return null;
+        }).when(fileManager).copyRenamedFile(any(), anyString());
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        mockedFiles.close();
+    }
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({"THREADS,1", "THREADS,8", "THREAD_PER_FILE,1", "THREAD_PER_FILE,64", "ADAPTIVE,16"})
+    void start_should_rename_all_files_and_collect_all_problems(final Concurrency.Mode mode, final int limit) {
+        new Application(
+            dataPrinter, fileManager, catalog.toString(), LetterStandard.OFFICIAL.getLetterTranslator(),
+            concurrencyOf(mode, limit)
+        ).start();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter).outInfo(eq(FILES), logList.capture());
+        verify(dataPrinter).exit();
+
+        final Map<String, Exception> problems = logList.getValue();
+        assertEquals(FILES / 4 * 3 - 1, problems.size());
+        for (int i = 0; i < FILES; i++) {
+            switch (i % 4) {
+                case 0:
+                    assertTrue(copiedNames.contains("Foto " + i + ".jpg"));
+                    break;
+                case 1:
+                    assertTrue(problems.get("photo " + i + ".jpg") instanceof DontContainCyrillicSymbolsException);
+                    break;
+                case 2:
+                    assertTrue(problems.get("Объём " + i + ".txt") instanceof IllegalLanguageException);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @CsvSource({"false", "true"})
+    void start_should_copy_first_files_while_directory_is_listed(final boolean incremental) throws Exception {
+        final CountDownLatch firstCopy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstCopy.countDown();
+            return null;
+        }).when(fileManager).copyRenamedFile(any(), anyString());
+        doAnswer(invocation -> {
+            final FileConsumer action = invocation.getArgument(1);
+            action.accept(mockedFiles.getPath("/dir/Фото.jpg"), null);
+            assertTrue(firstCopy.await(10, TimeUnit.SECONDS));
+            action.accept(mockedFiles.getPath("/dir/Фото 2.jpg"), null);
+            return null;
+        }).when(fileManager).forEachFile(anyString(), any());
+
+        new Application(
+            dataPrinter, fileManager, catalog.toString(), LetterStandard.OFFICIAL.getLetterTranslator(),
+            RenameOptions.defaults().withIncremental(incremental)
+        ).start();
+
+        verify(dataPrinter).outInfo(eq(2), eq(Map.of()));
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @CsvSource({"THREADS,2", "THREAD_PER_FILE,16", "ADAPTIVE,16"})
+    void start_should_fail_without_hanging_if_copy_stage_fails(final Concurrency.Mode mode, final int limit)
+        throws Exception {
+        doThrow(new IllegalStateException("Broken file manager"))
+            .when(fileManager).copyRenamedFile(any(), anyString());
+
+        new Application(
+            dataPrinter, fileManager, catalog.toString(), LetterStandard.OFFICIAL.getLetterTranslator(),
+            concurrencyOf(mode, limit)
+        ).start();
+
+        verify(dataPrinter).printErrorMessage(contains("Broken file manager"));
+        verify(dataPrinter).exit();
+        assertTrue(Journal.isUnfinished(catalog.resolve(".renamedToLatin.journal")));
+    }
+
+    @Test
+    @Order(4)
+    void start_should_hide_latency_of_slow_file_system_with_thread_per_file() throws Exception {
+        // The first copies wait for each other, so they're finished in time only if copied at once
+        final int overlapping = 16;
+        final CountDownLatch copying = new CountDownLatch(overlapping);
+        final AtomicInteger notOverlapped = new AtomicInteger();
+        doAnswer(invocation -> {
+            copying.countDown();
+            if (!copying.await(10, TimeUnit.SECONDS)) {
+                notOverlapped.incrementAndGet();
+            }
+            copiedNames.add(invocation.getArgument(1));
+            return null;
+        }).when(fileManager).copyRenamedFile(any(), anyString());
+        final FileManager slowFileManager = new LatencyFileManager(fileManager, 20);
+
+        new Application(
+            dataPrinter, slowFileManager, catalog.toString(), LetterStandard.OFFICIAL.getLetterTranslator(),
+            Concurrency.threadPerFile(FILES)
+        ).start();
+
+        assertEquals(0, notOverlapped.get());
+        // 'Foto' and 'Zvit' files
+        assertEquals(FILES / 2, copiedNames.size());
+        verify(dataPrinter, never()).printErrorMessage(anyString());
+    }
+
+    @Test
+    @Order(5)
+    void start_should_mirror_tree_with_translated_directory_names(@TempDir final Path directory) throws Exception {
+        createFiles(directory,
+            "Фото.jpg", "Відпустка/Море.jpg", "Відпустка/photo.jpg", "Відпустка/Гори/Схід.png",
+            "photos/photo.jpg", "photos/Фото.jpg", "Відпустка/Thumbs.db", "Відпустка/.hidden");
+
+        new Application(
+            dataPrinter, new LocalFileManager(OS.UNIX), directory.toString(),
+            LetterStandard.OFFICIAL.getLetterTranslator(),
+            RenameOptions.defaults().withRecursive(true).withConcurrency(Concurrency.threads(4))
+        ).start();
+
+        final Path result = directory.resolve("renamedToLatin");
+        for (final String path : new String[] {
+            "Foto.jpg", "Vidpustka/More.jpg", "Vidpustka/photo.jpg", "Vidpustka/Hory/Skhid.png", "photos/Foto.jpg"}) {
+            assertTrue(Files.exists(result.resolve(path)), path);
+        }
+        assertFalse(Files.exists(result.resolve("photos/photo.jpg")));
+        assertFalse(Files.exists(result.resolve("Vidpustka/Thumbs.db")));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter).outInfo(eq(6), logList.capture());
+        assertEquals(Set.of("photos/photo.jpg"), logList.getValue().keySet());
+    }
+
+    @Test
+    @Order(6)
+    void start_should_rename_files_in_place_and_keep_names_of_directories(@TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.jpg", "Foto.jpg", "Відпустка/Море.jpg", "Відпустка/photo.jpg", "Звіт.pdf");
+
+        new Application(
+            dataPrinter, new LocalFileManager(OS.UNIX), directory.toString(),
+            LetterStandard.OFFICIAL.getLetterTranslator(),
+            RenameOptions.defaults().withRecursive(true).withTransferMode(TransferMode.MOVE)
+        ).start();
+
+        assertFalse(Files.exists(directory.resolve("renamedToLatin")));
+        assertTrue(Files.exists(directory.resolve("Zvit.pdf")));
+        assertFalse(Files.exists(directory.resolve("Звіт.pdf")));
+        assertTrue(Files.exists(directory.resolve("Відпустка/More.jpg")));
+        assertTrue(Files.exists(directory.resolve("Відпустка/photo.jpg")));
+        // Existing file is never replaced, the colliding one gets a suffix
+        assertFalse(Files.exists(directory.resolve("Фото.jpg")));
+        assertEquals("Foto.jpg", Files.readString(directory.resolve("Foto.jpg")));
+        assertEquals("Фото.jpg", Files.readString(directory.resolve("Foto_2.jpg")));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter).outInfo(eq(5), logList.capture());
+        assertEquals(Set.of("Foto.jpg", "Відпустка/photo.jpg"), logList.getValue().keySet());
+    }
+
+    @Test
+    @Order(7)
+    void start_should_rename_only_new_and_changed_files_in_incremental_mode(@TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.jpg", "Відпустка/Море.jpg", "Звіт.pdf");
+        final RenameOptions options = RenameOptions.defaults().withRecursive(true).withIncremental(true);
+        start(directory, options);
+
+        createFiles(directory, "Відпустка/Гори.jpg");
+        Files.writeString(directory.resolve("Звіт.pdf"), "changed report");
+        Files.setLastModifiedTime(directory.resolve("Звіт.pdf"), FileTime.fromMillis(0));
+        start(directory, options);
+
+        final Path result = directory.resolve("renamedToLatin");
+        assertEquals("changed report", Files.readString(result.resolve("Zvit.pdf")));
+        assertTrue(Files.exists(result.resolve("Vidpustka/Hory.jpg")));
+        verify(dataPrinter).printInfoMessage("Unchanged files skipped: 2");
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter, times(2)).outInfo(anyInt(), logList.capture());
+        assertEquals(Map.of(), logList.getAllValues().get(1));
+    }
+
+    @Test
+    @Order(8)
+    void start_should_write_plan_without_renaming_files_and_plan_should_be_applied_later(
+        @TempDir final Path directory) throws Exception {
+        createFiles(directory, "Фото.jpg", "Відпустка/Море.jpg", "photos/photo.jpg", "Объём.txt");
+        final Path planFile = directory.resolve(".plan.tsv");
+
+        start(directory, RenameOptions.defaults().withRecursive(true).withPlanFile(planFile.toString()));
+
+        assertFalse(Files.exists(directory.resolve("renamedToLatin")));
+        final List<String> plan = Files.readAllLines(planFile);
+        final long photoSize = Files.size(directory.resolve("Фото.jpg"));
+        final long seaSize = Files.size(directory.resolve("Відпустка/Море.jpg"));
+        assertTrue(plan.contains("rename\t" + photoSize + "\tФото.jpg\tFoto.jpg"), plan.toString());
+        assertTrue(plan.contains("total\t2\t" + (photoSize + seaSize) + "\t2\t0"), plan.toString());
+        verify(dataPrinter).printInfoMessage("Plan: " + planFile);
+
+        new PlanApplication(dataPrinter, new LocalFileManager(OS.UNIX), planFile, Concurrency.threads(2)).start();
+
+        final Path result = directory.resolve("renamedToLatin");
+        assertEquals("Фото.jpg", Files.readString(result.resolve("Foto.jpg")));
+        assertEquals("Відпустка/Море.jpg", Files.readString(result.resolve("Vidpustka/More.jpg")));
+        verify(dataPrinter).outInfo(eq(2), eq(Map.of()));
+    }
+
+    @ParameterizedTest
+    @Order(9)
+    @CsvSource({"false,Viz.TXT", "true,Viz_3.TXT"})
+    void start_should_suffix_names_of_colliding_files_before_copy(final boolean ignoreCase, final String third,
+                                                                 @TempDir final Path directory) throws Exception {
+        createFiles(directory, "Віз.txt", "Вїз.txt", "Віз.TXT");
+
+        start(directory, RenameOptions.defaults().withIgnoreCase(ignoreCase));
+
+        final Path result = directory.resolve("renamedToLatin");
+        final Set<String> contents = new HashSet<>();
+        for (final String name : new String[] {"Viz.txt", "Viz_2.txt", third}) {
+            contents.add(Files.readString(result.resolve(name)));
+        }
+        assertEquals(Set.of("Віз.txt", "Вїз.txt", "Віз.TXT"), contents);
+        verify(dataPrinter).outInfo(eq(3), eq(Map.of()));
+    }
+
+    @ParameterizedTest
+    @Order(10)
+    @CsvSource({"COPY,1", "MOVE,0"})
+    void start_should_resume_interrupted_run_by_journal_and_rollback_should_restore_directory(
+        final TransferMode transferMode, final int resumedFiles, @TempDir final Path directory) throws Exception {
+        createFiles(directory, "Фото.jpg", "Звіт.pdf", "Море.jpg");
+        final Path result = transferMode == TransferMode.MOVE ? directory : directory.resolve("renamedToLatin");
+        // Run is interrupted after the first file and while the second one is renamed
+        try (final Journal journal = Journal.create(directory.resolve(".renamedToLatin.journal"), transferMode)) {
+            final int intent = journal.intend("Фото.jpg", "Foto.jpg");
+            if (transferMode == TransferMode.MOVE) {
+                Files.move(directory.resolve("Фото.jpg"), directory.resolve("Foto.jpg"));
+            } else {
+                Files.createDirectory(result);
+                Files.copy(directory.resolve("Фото.jpg"), result.resolve("Foto.jpg"));
+            }
+            journal.done(intent);
+            journal.intend("Звіт.pdf", "Zvit.pdf");
+            if (transferMode != TransferMode.MOVE) {
+                Files.writeString(result.resolve("Zvit.pdf"), "Зв");
+            }
+        }
+
+        start(directory, RenameOptions.defaults().withTransferMode(transferMode).withResume(true));
+
+        assertEquals("Фото.jpg", Files.readString(result.resolve("Foto.jpg")));
+        assertEquals("Звіт.pdf", Files.readString(result.resolve("Zvit.pdf")));
+        assertEquals("Море.jpg", Files.readString(result.resolve("More.jpg")));
+        verify(dataPrinter).printInfoMessage("Files renamed before interruption: " + resumedFiles);
+
+        new RollbackApplication(dataPrinter, new LocalFileManager(OS.UNIX), directory.toString()).start();
+
+        assertFalse(Files.exists(result.resolve("Foto.jpg")));
+        assertFalse(Files.exists(result.resolve("Zvit.pdf")));
+        assertFalse(Files.exists(result.resolve("More.jpg")));
+        assertEquals("Фото.jpg", Files.readString(directory.resolve("Фото.jpg")));
+        assertEquals("Звіт.pdf", Files.readString(directory.resolve("Звіт.pdf")));
+        assertFalse(Files.exists(directory.resolve(".renamedToLatin.journal")));
+    }
+
+    @Test
+    @Order(11)
+    void start_should_link_files_with_the_same_content_and_report_saved_bytes(@TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.jpg", "Копія/Фото.jpg", "Звіт.pdf");
+        Files.writeString(directory.resolve("Копія/Фото.jpg"), "Фото.jpg");
+
+        start(directory, RenameOptions.defaults().withRecursive(true).withDedup(true)
+            .withConcurrency(Concurrency.threads(4)));
+
+        final Path result = directory.resolve("renamedToLatin");
+        assertTrue(Files.isSameFile(result.resolve("Foto.jpg"), result.resolve("Kopiia/Foto.jpg")));
+        assertEquals("Звіт.pdf", Files.readString(result.resolve("Zvit.pdf")));
+        verify(dataPrinter).printInfoMessage(format("Duplicates linked: 1, saved: %d bytes (0 MiB)",
+            Files.size(directory.resolve("Фото.jpg"))));
+        verify(dataPrinter).outInfo(eq(3), eq(Map.of()));
+    }
+
+    @Test
+    @Order(12)
+    void start_should_fail_without_hanging_if_copy_stage_fails_while_queue_is_full() throws Exception {
+        // More files than queues, translator's batch and copiers hold together
+        final int files = 3000;
+        final int filling = 2000;
+        final AtomicInteger listedFiles = new AtomicInteger();
+        final AtomicBoolean broken = new AtomicBoolean();
+        doAnswer(invocation -> {
+            final FileConsumer action = invocation.getArgument(1);
+            for (int i = 0; i < files; i++) {
+                listedFiles.incrementAndGet();
+                action.accept(mockedFiles.getPath("/dir/Фото " + i + ".jpg"), null);
+            }
+            return null;
+        }).when(fileManager).forEachFile(anyString(), any());
+        doAnswer(invocation -> {
+            while (listedFiles.get() < filling) {
+                Thread.sleep(1);
+            }
+            if (broken.compareAndSet(false, true)) {
+                throw new IllegalStateException("Broken file manager");
+            }
+            // Other copiers are slower than translator gives up waiting for free place
+            Thread.sleep(300);
+            return null;
+        }).when(fileManager).copyRenamedFile(any(), anyString());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> new Application(
+            dataPrinter, fileManager, catalog.toString(), LetterStandard.OFFICIAL.getLetterTranslator(),
+            Concurrency.threads(4)
+        ).start());
+
+        verify(dataPrinter).printErrorMessage(contains("Broken file manager"));
+        verify(dataPrinter).exit();
+    }
+
+    @Test
+    @Order(13)
+    void start_should_refuse_to_replace_journal_of_interrupted_run(@TempDir final Path directory) throws Exception {
+        createFiles(directory, "Фото.jpg");
+        Journal.create(directory.resolve(".renamedToLatin.journal"), TransferMode.COPY).close();
+
+        start(directory, RenameOptions.defaults());
+
+        assertFalse(Files.exists(directory.resolve("renamedToLatin/Foto.jpg")));
+        verify(dataPrinter).printErrorMessage(format("Journal '%s' of interrupted run exists: " +
+            "continue run with --resume, restore its files with --rollback or delete journal",
+            directory.resolve(".renamedToLatin.journal")));
+        verify(dataPrinter, never()).outInfo(anyInt(), any());
+    }
+
+    @Test
+    @Order(14)
+    void pipeline_should_stop_before_file_is_moved_if_journal_can_not_be_written() throws Exception {
+        final Journal journal = Journal.create(catalog.resolve(".renamedToLatin.journal"), TransferMode.MOVE);
+        journal.close();
+        final Map<String, Exception> logList = new ConcurrentHashMap<>();
+        final RenamePipeline pipeline = new RenamePipeline(fileManager, LetterStandard.OFFICIAL.getLetterTranslator(),
+            RenameOptions.defaults().withTransferMode(TransferMode.MOVE), logList, null, journal);
+
+        final IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> pipeline.run(catalog.toString()));
+
+        assertTrue(e.getCause() instanceof Journal.JournalException);
+        verify(fileManager, never()).moveRenamedFile(any(), anyString());
+        assertTrue(logList.keySet().stream().noneMatch(name -> name.startsWith("Фото")));
+    }
+
+    @Test
+    @Order(15)
+    void plan_should_report_files_deleted_or_changed_since_plan_was_written_and_journal_renames(
+        @TempDir final Path directory) throws Exception {
+        createFiles(directory, "Фото.jpg", "Звіт.pdf", "Море.jpg");
+        final Path planFile = directory.resolve(".plan.tsv");
+        start(directory, RenameOptions.defaults().withPlanFile(planFile.toString()));
+        Files.delete(directory.resolve("Фото.jpg"));
+        Files.writeString(directory.resolve("Звіт.pdf"), "Звіт.pdf, друга версія");
+
+        new PlanApplication(dataPrinter, new LocalFileManager(OS.UNIX), planFile, Concurrency.threads(2)).start();
+
+        final Path result = directory.resolve("renamedToLatin");
+        assertFalse(Files.exists(result.resolve("Zvit.pdf")));
+        assertEquals("Море.jpg", Files.readString(result.resolve("More.jpg")));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter).outInfo(eq(3), logList.capture());
+        assertEquals(Set.of("Фото.jpg", "Звіт.pdf"), logList.getValue().keySet());
+        final Path journalFile = directory.resolve(".renamedToLatin.journal");
+        assertFalse(Journal.isUnfinished(journalFile));
+        try (final Journal journal = Journal.read(journalFile)) {
+            assertEquals(1, journal.size());
+            assertTrue(journal.find("Море.jpg").isDone());
+        }
+    }
+
+    @Test
+    @Order(16)
+    void plan_should_print_problems_of_files_deleted_since_plan_was_written(@TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.jpg", "Море.jpg");
+        final Path planFile = directory.resolve(".plan.tsv");
+        start(directory, RenameOptions.defaults().withPlanFile(planFile.toString()));
+        Files.delete(directory.resolve("Фото.jpg"));
+        final Queue<String> input = new ArrayDeque<>(List.of("/log", ""));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final PrintStream err = System.err;
+        System.setErr(new PrintStream(output, true, UTF_8));
+        try {
+            new PlanApplication(new ConsoleDataPrinter(input::poll, () -> {
+            }, OS.UNIX), new LocalFileManager(OS.UNIX), planFile, Concurrency.threads(2)).start();
+        } finally {
+            System.setErr(err);
+        }
+
+        assertTrue(output.toString(UTF_8).contains("1. Фото.jpg: File is deleted since plan was written"),
+            output.toString(UTF_8));
+        assertEquals("Море.jpg", Files.readString(directory.resolve("renamedToLatin/More.jpg")));
+    }
+
+    @ParameterizedTest
+    @Order(17)
+    @CsvSource({"false", "true"})
+    void rollback_should_keep_file_that_existed_before_failed_or_interrupted_copy(final boolean interrupted,
+                                                                                 @TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.txt", "renamedToLatin/Foto.txt");
+        if (interrupted) {
+            try (final Journal journal = Journal.create(directory.resolve(".renamedToLatin.journal"),
+                TransferMode.COPY)) {
+                journal.intend("Фото.txt", "Foto.txt");
+            }
+        } else {
+            start(directory, RenameOptions.defaults());
+        }
+
+        new RollbackApplication(dataPrinter, new LocalFileManager(OS.UNIX), directory.toString()).start();
+
+        assertEquals("renamedToLatin/Foto.txt", Files.readString(directory.resolve("renamedToLatin/Foto.txt")));
+        assertEquals("Фото.txt", Files.readString(directory.resolve("Фото.txt")));
+        assertFalse(Files.exists(directory.resolve(".renamedToLatin.journal")));
+    }
+
+    @Test
+    @Order(18)
+    void start_should_replace_only_result_of_interrupted_rename_on_resume(@TempDir final Path directory)
+        throws Exception {
+        createFiles(directory, "Фото.jpg", "Море.jpg", "renamedToLatin/More.jpg");
+        try (final Journal journal = Journal.create(directory.resolve(".renamedToLatin.journal"),
+            TransferMode.COPY)) {
+            journal.intend("Фото.jpg", "Foto.jpg");
+        }
+        Files.writeString(directory.resolve("renamedToLatin/Foto.jpg"), "Фо");
+
+        start(directory, RenameOptions.defaults().withResume(true));
+
+        assertEquals("Фото.jpg", Files.readString(directory.resolve("renamedToLatin/Foto.jpg")));
+        assertEquals("renamedToLatin/More.jpg", Files.readString(directory.resolve("renamedToLatin/More.jpg")));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<String, Exception>> logList = ArgumentCaptor.forClass(Map.class);
+        verify(dataPrinter).outInfo(eq(2), logList.capture());
+        assertTrue(logList.getValue().get("Море.jpg") instanceof FileAlreadyExistsException);
+    }
+
+    private void start(final Path directory, final RenameOptions options) {
+        new Application(
+            dataPrinter, new LocalFileManager(OS.UNIX), directory.toString(),
+            LetterStandard.OFFICIAL.getLetterTranslator(), options
+        ).start();
+    }
+
+    private static void createFiles(final Path directory, final String... paths) throws IOException {
+        assumeTrue(Charset.forName(System.getProperty("sun.jnu.encoding")).newEncoder().canEncode("Фото"),
+            "File system encoding doesn't support cyrillic names");
+        for (final String path : paths) {
+            final Path file = directory.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, path);
+        }
+    }
+
+    private static Concurrency concurrencyOf(final Concurrency.Mode mode, final int limit) {
+        switch (mode) {
+            case THREAD_PER_FILE:
+                return Concurrency.threadPerFile(limit);
+            case ADAPTIVE:
+                return Concurrency.adaptive(limit);
+            default:
+                return Concurrency.threads(limit);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ChannelCopier_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({
+        "8388608,262144,0",
+        "8388608,262144,1000000",
+        "4096,1024,100000",
+        "4096,1024,4096",
+        "0,1024,100001",
+        "0,262144,0",
+    })
+    void copy_should_copy_content_by_chunks_or_through_buffer(final int chunkSize, final int bufferSize,
+                                                           final int size) throws IOException {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        final Path source = Files.write(directory.resolve("source.bin"), content);
+        final AtomicLong reported = new AtomicLong(-1);
+        final ChannelCopier copier = new ChannelCopier(
+            chunkSize, bufferSize, (target, bytes, nanos) -> reported.set(bytes));
+
+        final long bytes = copier.copy(source, directory.resolve("target.bin"));
+
+        assertEquals(size, bytes);
+        assertEquals(size, reported.get());
+        assertArrayEquals(content, Files.readAllBytes(directory.resolve("target.bin")));
+    }
+
+    @Test
+    @Order(2)
+    void copy_should_keep_existing_target_and_not_report_it() throws IOException {
+        final Path source = Files.writeString(directory.resolve("source.txt"), "source");
+        final Path target = Files.writeString(directory.resolve("target.txt"), "target");
+        final AtomicLong reported = new AtomicLong(-1);
+        final ChannelCopier copier = new ChannelCopier(
+            ChannelCopier.DEFAULT_CHUNK_SIZE, ChannelCopier.DEFAULT_BUFFER_SIZE,
+            (file, bytes, nanos) -> reported.set(bytes));
+
+        assertThrows(FileAlreadyExistsException.class, () -> copier.copy(source, target));
+
+        assertEquals("target", Files.readString(target));
+        assertEquals(-1, reported.get());
+    }
+
+    @Test
+    @Order(3)
+    void copy_should_copy_permissions_and_directories_as_files_copy() throws IOException {
+        final Path source = Files.writeString(directory.resolve("script.sh"), "echo");
+        Files.setPosixFilePermissions(source, PosixFilePermissions.fromString("rwxr-x---"));
+        Files.createDirectory(directory.resolve("docs"));
+        final ChannelCopier copier = ChannelCopier.defaults();
+
+        copier.copy(source, directory.resolve("copy.sh"));
+        copier.copy(directory.resolve("docs"), directory.resolve("docs copy"));
+
+        assertEquals(Files.getPosixFilePermissions(source), Files.getPosixFilePermissions(directory.resolve("copy.sh")));
+        assertTrue(Files.isDirectory(directory.resolve("docs copy")));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CollisionIndex_UnitTest {
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({
+        "Foto.jpg,Foto_2.jpg,Foto_3.jpg",
+        "Foto,Foto_2,Foto_3",
+        "archive.tar.gz,archive.tar_2.gz,archive.tar_3.gz",
+        ".hidden,.hidden_2,.hidden_3",
+    })
+    void claim_should_suffix_the_second_and_next_files_with_the_same_name(final String name,
+                                                                          final String second,
+                                                                          final String third) {
+        final CollisionIndex index = new CollisionIndex(false);
+
+        assertEquals(name, index.claim("a", name));
+        assertEquals(second, index.claim("a", name));
+        assertEquals(third, index.claim("a", name));
+        assertEquals(name, index.claim("b", name));
+        assertEquals(2, index.getCollisions());
+    }
+
+    @Test
+    @Order(2)
+    void claim_should_skip_suffixes_taken_by_other_files() {
+        final CollisionIndex index = new CollisionIndex(false);
+        index.reserve("a/Foto.jpg");
+        index.reserve("a/Foto_2.jpg");
+
+        assertEquals("Foto_3.jpg", index.claim("a", "Foto.jpg"));
+        assertEquals("Foto_4.jpg", index.claim("a", "Foto.jpg"));
+        assertEquals("Zvit.pdf", index.claim("", "Zvit.pdf"));
+        assertEquals("Zvit_2.pdf", index.claim("", "Zvit.pdf"));
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @CsvSource({"false,FOTO.jpg", "true,FOTO_2.jpg"})
+    void claim_should_fold_case_only_if_it_is_ignored(final boolean ignoreCase, final String expected) {
+        final CollisionIndex index = new CollisionIndex(ignoreCase);
+
+        assertEquals("Foto.jpg", index.claim("Dir", "Foto.jpg"));
+        assertEquals(expected, index.claim("DIR", "FOTO.jpg"));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Deduplicator_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    private final LocalFileManager fileManager = new LocalFileManager(OS.UNIX);
+
+    @Test
+    @Order(1)
+    void copy_should_link_files_with_content_copied_already_and_copy_other_ones() throws IOException {
+        final Path photo = Files.writeString(directory.resolve("photo.jpg"), "photo");
+        final Path copy = Files.writeString(directory.resolve("copy.jpg"), "photo");
+        final Path sameSize = Files.writeString(directory.resolve("other.jpg"), "other");
+        final Path otherSize = Files.writeString(directory.resolve("report.pdf"), "report");
+        final Path empty = Files.writeString(directory.resolve("empty.txt"), "");
+        final Path otherEmpty = Files.writeString(directory.resolve("other_empty.txt"), "");
+        fileManager.createResultingDirectory(directory.toString());
+        final Deduplicator deduplicator = new Deduplicator(fileManager);
+
+        for (final Path file : List.of(photo, copy, sameSize, otherSize, empty, otherEmpty)) {
+            deduplicator.copy(file, Files.size(file), "a/" + file.getFileName());
+        }
+
+        final Path result = directory.resolve("renamedToLatin/a");
+        assertTrue(Files.isSameFile(result.resolve("photo.jpg"), result.resolve("copy.jpg")));
+        assertFalse(Files.isSameFile(result.resolve("photo.jpg"), result.resolve("other.jpg")));
+        assertFalse(Files.isSameFile(result.resolve("empty.txt"), result.resolve("other_empty.txt")));
+        assertEquals("other", Files.readString(result.resolve("other.jpg")));
+        assertEquals("report", Files.readString(result.resolve("report.pdf")));
+        assertEquals(1, deduplicator.getDuplicates());
+        assertEquals(5, deduplicator.getSavedBytes());
+    }
+
+    @Test
+    @Order(2)
+    void copy_should_copy_every_content_once_when_called_from_many_threads() throws Exception {
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // 4 contents of the same size, 50 files of each
+            files.add(Files.writeString(directory.resolve("file" + i + ".txt"), "content " + i % 4));
+        }
+        fileManager.createResultingDirectory(directory.toString());
+        final Deduplicator deduplicator = new Deduplicator(fileManager);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> copies = new ArrayList<>();
+            for (final Path file : files) {
+                copies.add(executor.submit(() -> {
+                    deduplicator.copy(file, Files.size(file), file.getFileName().toString());
+                    return null;
+                }));
+            }
+            for (final Future<?> copy : copies) {
+                copy.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(196, deduplicator.getDuplicates());
+        assertEquals(196L * "content 0".length(), deduplicator.getSavedBytes());
+        final Set<Object> copies = new HashSet<>();
+        for (final Path file : files) {
+            final Path copy = directory.resolve("renamedToLatin").resolve(file.getFileName());
+            assertEquals(Files.readString(file), Files.readString(copy));
+            copies.add(Files.readAttributes(copy, BasicFileAttributes.class).fileKey());
+        }
+        assertEquals(4, copies.size());
+    }
+
+    @Test
+    @Order(3)
+    void copy_should_take_the_next_file_as_original_if_the_first_one_is_unreadable() throws IOException {
+        final Path photo = Files.writeString(directory.resolve("photo.jpg"), "photo");
+        final Path copy = Files.writeString(directory.resolve("copy.jpg"), "photo");
+        final Path secondCopy = Files.writeString(directory.resolve("copy_2.jpg"), "photo");
+        fileManager.createResultingDirectory(directory.toString());
+        final Deduplicator deduplicator = new Deduplicator(fileManager);
+
+        deduplicator.copy(photo, Files.size(photo), "photo.jpg");
+        Files.delete(photo);
+        deduplicator.copy(copy, Files.size(copy), "copy.jpg");
+        deduplicator.copy(secondCopy, Files.size(secondCopy), "copy_2.jpg");
+
+        final Path result = directory.resolve("renamedToLatin");
+        assertFalse(Files.isSameFile(result.resolve("photo.jpg"), result.resolve("copy.jpg")));
+        assertTrue(Files.isSameFile(result.resolve("copy.jpg"), result.resolve("copy_2.jpg")));
+        assertEquals(1, deduplicator.getDuplicates());
+    }
+}
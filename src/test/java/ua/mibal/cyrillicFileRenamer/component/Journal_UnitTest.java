@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Journal_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Order(1)
+    void read_should_return_records_in_order_and_in_reversed_order() throws IOException {
+        final Path file = directory.resolve("journal");
+        try (final Journal journal = Journal.create(file, TransferMode.LINK)) {
+            journal.done(journal.intend("Фото.jpg", "Foto.jpg"));
+            journal.failed(journal.intend("Море.jpg", "More.jpg"));
+            journal.intend("a/Звіт.pdf", "a/Zvit.pdf");
+        }
+
+        try (final Journal journal = Journal.read(file)) {
+            assertEquals(TransferMode.LINK, journal.getTransferMode());
+            assertEquals(3, journal.size());
+            assertEquals("a/Zvit.pdf", journal.find("a/Звіт.pdf").getNewName());
+            assertTrue(journal.find("Фото.jpg").isDone());
+            assertFalse(journal.find("Фото.jpg").isFailed());
+            assertTrue(journal.find("Море.jpg").isFailed());
+            assertFalse(journal.find("Море.jpg").isDone());
+            assertFalse(journal.find("a/Звіт.pdf").isDone());
+            assertFalse(journal.find("a/Звіт.pdf").isFailed());
+            assertNull(journal.find("photo.jpg"));
+            final List<String> reversed = new ArrayList<>();
+            journal.forEachReversed(record -> reversed.add(record.getNewName()));
+            assertEquals(List.of("a/Zvit.pdf", "More.jpg", "Foto.jpg"), reversed);
+        }
+    }
+
+    @Test
+    @Order(2)
+    void resume_should_drop_incomplete_record_and_append_after_the_last_complete_one() throws IOException {
+        final Path file = directory.resolve("journal");
+        try (final Journal journal = Journal.create(file, TransferMode.MOVE)) {
+            journal.done(journal.intend("Фото.jpg", "Foto.jpg"));
+            journal.intend("Звіт.pdf", "Zvit.pdf");
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (final Journal journal = Journal.resume(file)) {
+            assertEquals(1, journal.size());
+            journal.done(journal.intend("Звіт.pdf", "Zvit.pdf"));
+        }
+
+        try (final Journal journal = Journal.read(file)) {
+            assertEquals(TransferMode.MOVE, journal.getTransferMode());
+            assertEquals(2, journal.size());
+            assertEquals("Zvit.pdf", journal.find("Звіт.pdf").getNewName());
+            assertTrue(journal.find("Звіт.pdf").isDone());
+        }
+    }
+
+    @Test
+    @Order(3)
+    void read_should_fail_on_missing_file_or_file_of_other_format() throws IOException {
+        Files.writeString(directory.resolve("other"), "not a journal");
+
+        assertThrows(IOException.class, () -> Journal.read(directory.resolve("journal")));
+        assertThrows(IOException.class, () -> Journal.read(directory.resolve("other")));
+    }
+
+    @Test
+    @Order(4)
+    void is_unfinished_should_be_true_until_run_is_finished() throws IOException {
+        final Path file = directory.resolve("journal");
+        assertFalse(Journal.isUnfinished(file));
+
+        try (final Journal journal = Journal.create(file, TransferMode.COPY)) {
+            journal.intend("Фото.jpg", "Foto.jpg");
+            assertTrue(Journal.isUnfinished(file));
+            journal.finish();
+        }
+        assertFalse(Journal.isUnfinished(file));
+
+        Journal.resume(file).close();
+        assertTrue(Journal.isUnfinished(file));
+    }
+
+    @Test
+    @Order(5)
+    void find_should_return_the_latest_intent_of_every_of_many_files() throws IOException {
+        final Path file = directory.resolve("journal");
+        try (final Journal journal = Journal.create(file, TransferMode.COPY)) {
+            for (int i = 0; i < 5000; i++) {
+                journal.done(journal.intend("Фото" + i + ".jpg", "Foto" + i + ".jpg"));
+            }
+            journal.intend("Фото7.jpg", "Foto7 (1).jpg");
+        }
+
+        try (final Journal journal = Journal.read(file)) {
+            assertEquals(5000, journal.size());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals("Фото" + i + ".jpg", journal.find("Фото" + i + ".jpg").getOldPath());
+            }
+            assertEquals("Foto7 (1).jpg", journal.find("Фото7.jpg").getNewName());
+            assertFalse(journal.find("Фото7.jpg").isDone());
+        }
+    }
+
+    @Test
+    @Order(6)
+    void sync_should_write_intents_to_disk_before_batch_is_full() throws IOException {
+        final Path file = directory.resolve("journal");
+        try (final Journal journal = Journal.create(file, TransferMode.MOVE)) {
+            journal.intend("Фото.jpg", "Foto.jpg");
+            journal.intend("Звіт.pdf", "Zvit.pdf");
+            journal.sync();
+
+            try (final Journal written = Journal.read(file)) {
+                assertEquals(2, written.size());
+                assertEquals("Zvit.pdf", written.find("Звіт.pdf").getNewName());
+            }
+        }
+    }
+}
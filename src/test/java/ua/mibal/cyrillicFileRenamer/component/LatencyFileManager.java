@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * File manager of network mount: every call to file system waits for {@code latencyMs}.
+ *
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+class LatencyFileManager implements FileManager {
+
+    private final FileManager fileManager;
+
+    private final long latencyMs;
+
+    LatencyFileManager(final FileManager fileManager, final long latencyMs) {
+        this.fileManager = fileManager;
+        this.latencyMs = latencyMs;
+    }
+
+    private void await() {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public File[] getFilesFromDirectory(final String pathToCatalog) {
+        await();
+        return fileManager.getFilesFromDirectory(pathToCatalog);
+    }
+
+    @Override
+    public void forEachFile(final String pathToCatalog, final FileConsumer action) {
+        await();
+        fileManager.forEachFile(pathToCatalog, action);
+    }
+
+    @Override
+    public void createResultingDirectory(final String pathToCurrentDir) {
+        await();
+        fileManager.createResultingDirectory(pathToCurrentDir);
+    }
+
+    @Override
+    public void copyRenamedFile(final Path sourceFile, final String newName) throws IOException {
+        await();
+        fileManager.copyRenamedFile(sourceFile, newName);
+    }
+
+    @Override
+    public void linkRenamedFile(final Path sourceFile, final String newName) throws IOException {
+        await();
+        fileManager.linkRenamedFile(sourceFile, newName);
+    }
+
+    @Override
+    public void deleteRenamedFile(final String name) throws IOException {
+        await();
+        fileManager.deleteRenamedFile(name);
+    }
+
+    @Override
+    public void moveRenamedFile(final Path sourceFile, final String newName) throws IOException {
+        await();
+        fileManager.moveRenamedFile(sourceFile, newName);
+    }
+
+    @Override
+    public String testAndGetCorrectPath(final String path) {
+        await();
+        return fileManager.testAndGetCorrectPath(path);
+    }
+
+    @Override
+    public String getParentDir(final String currentPath) {
+        await();
+        return fileManager.getParentDir(currentPath);
+    }
+
+    @Override
+    public String getPathExample() {
+        return fileManager.getPathExample();
+    }
+}
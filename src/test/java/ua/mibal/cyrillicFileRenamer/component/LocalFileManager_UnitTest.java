@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import ua.mibal.cyrillicFileRenamer.model.programMode.OS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LocalFileManager_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    private final LocalFileManager fileManager = new LocalFileManager(OS.UNIX);
+
+    @Test
+    @Order(1)
+    void forEachFile_should_skip_ignored_files() throws IOException {
+        createFiles("photo.jpg", ".hidden", "Thumbs.db", "renamedToLatin/photo.jpg", "docs/report.pdf");
+
+        final Set<String> files = new TreeSet<>();
+        fileManager.forEachFile(directory.toString(), (file, attributes) -> files.add(relative(file)));
+
+        assertEquals(Set.of("docs", "photo.jpg"), files);
+    }
+
+    @Test
+    @Order(2)
+    void forEachFileInTree_should_list_files_of_all_levels_and_skip_ignored_ones_at_every_level()
+        throws IOException {
+        createFiles(
+            "photo.jpg", "desktop.ini", "renamedToLatin/photo.jpg",
+            "a/report.pdf", "a/.DS_Store", "a/Thumbs.db",
+            "a/b/c/deep.txt", "a/b/$RECYCLE.BIN/trash.txt", "a/b/renamedToLatin/old.txt",
+            "d/e/note.txt"
+        );
+
+        final Set<String> files = new TreeSet<>();
+        fileManager.forEachFileInTree(directory.toString(), (file, attributes) -> {
+            synchronized (files) {
+                files.add(relative(file));
+            }
+        }, (subdirectory, e) -> {
+            throw new UncheckedIOException(e);
+        });
+
+        assertEquals(Set.of("photo.jpg", "a/report.pdf", "a/b/c/deep.txt", "d/e/note.txt"), files);
+    }
+
+    @Test
+    @Order(3)
+    void copyRenamedFile_should_create_subdirectories_of_new_name() throws IOException {
+        createFiles("photo.jpg");
+        fileManager.createResultingDirectory(directory.toString());
+
+        fileManager.copyRenamedFile(directory.resolve("photo.jpg"), "a/b/photo.jpg");
+
+        assertEquals(true, Files.exists(directory.resolve("renamedToLatin/a/b/photo.jpg")));
+    }
+
+    @Test
+    @Order(4)
+    void forEachFile_should_pass_attributes_read_while_listing() throws IOException {
+        createFiles("photo.jpg", "docs/report.pdf");
+
+        final Map<String, BasicFileAttributes> files = new TreeMap<>();
+        fileManager.forEachFile(directory.toString(), (file, attributes) -> files.put(relative(file), attributes));
+
+        assertEquals(true, files.get("docs").isDirectory());
+        assertEquals(true, files.get("photo.jpg").isRegularFile());
+        assertEquals("photo.jpg".length(), files.get("photo.jpg").size());
+    }
+
+    @Test
+    @Order(5)
+    void moveRenamedFile_should_rename_file_in_its_directory_but_never_replace_existing_one() throws IOException {
+        createFiles("a/photo.jpg", "a/image.jpg", "a/picture.jpg");
+
+        fileManager.moveRenamedFile(directory.resolve("a/photo.jpg"), "foto.jpg");
+        assertThrows(FileAlreadyExistsException.class,
+            () -> fileManager.moveRenamedFile(directory.resolve("a/image.jpg"), "picture.jpg"));
+
+        assertEquals(Set.of("a/foto.jpg", "a/image.jpg", "a/picture.jpg"), filesOf("a"));
+        assertEquals("a/picture.jpg", Files.readString(directory.resolve("a/picture.jpg")));
+    }
+
+    @Test
+    @Order(6)
+    void linkRenamedFile_should_link_file_to_resulting_directory_but_never_replace_existing_one()
+        throws IOException {
+        createFiles("photo.jpg", "image.jpg", "renamedToLatin/image.jpg");
+        fileManager.createResultingDirectory(directory.toString());
+
+        fileManager.linkRenamedFile(directory.resolve("photo.jpg"), "a/foto.jpg");
+        assertThrows(FileAlreadyExistsException.class,
+            () -> fileManager.linkRenamedFile(directory.resolve("image.jpg"), "image.jpg"));
+
+        assertTrue(Files.isSameFile(directory.resolve("photo.jpg"), directory.resolve("renamedToLatin/a/foto.jpg")));
+        assertEquals("renamedToLatin/image.jpg", Files.readString(directory.resolve("renamedToLatin/image.jpg")));
+    }
+
+    @Test
+    @Order(7)
+    void forEachFileInTree_should_skip_files_by_rules_of_options_and_ignore_files_of_directories()
+        throws IOException {
+        createFiles(
+            "photo.jpg", "photo.tmp", ".profile", "cache/data.bin",
+            "a/report.pdf", "a/draft.pdf", "a/b/draft.pdf", "a/b/scan.pdf",
+            "c/draft.pdf"
+        );
+        Files.writeString(directory.resolve("a/" + NameFilter.IGNORE_FILE), "# drafts of 'a'\ndraft.*\n!b/draft.pdf\n");
+        final LocalFileManager fileManager = new LocalFileManager(
+            OS.UNIX, ChannelCopier.defaults(), List.of("*.tmp", "cache/", "!.profile"));
+
+        final Set<String> files = new TreeSet<>();
+        fileManager.forEachFileInTree(directory.toString(), (file, attributes) -> {
+            synchronized (files) {
+                files.add(relative(file));
+            }
+        }, (subdirectory, e) -> {
+            throw new UncheckedIOException(e);
+        });
+
+        assertEquals(
+            Set.of("photo.jpg", ".profile", "a/report.pdf", "a/b/draft.pdf", "a/b/scan.pdf", "c/draft.pdf"), files);
+    }
+
+    @Test
+    @Order(8)
+    void getFilesFromDirectory_should_skip_files_by_ignore_file_of_directory_as_forEachFile_does()
+        throws IOException {
+        createFiles("photo.jpg", "photo.tmp", ".hidden", "docs/report.pdf");
+        Files.writeString(directory.resolve(NameFilter.IGNORE_FILE), "*.tmp\n");
+
+        final Set<String> files = new TreeSet<>();
+        for (final File file : fileManager.getFilesFromDirectory(directory.toString())) {
+            files.add(relative(file.toPath()));
+        }
+
+        assertEquals(Set.of("docs", "photo.jpg"), files);
+        assertEquals(filesOf(""), files);
+    }
+
+    @Test
+    @Order(9)
+    void forEachFileInTree_should_report_subdirectories_that_can_not_be_read_and_list_the_rest_of_tree()
+        throws IOException {
+        createFiles("photo.jpg", "a/report.pdf", "a/b/draft.pdf", "a/b/c/deep.txt", "d/note.txt", "e/scan.pdf");
+        Files.writeString(directory.resolve("a/b/" + NameFilter.IGNORE_FILE), "re:[a-\n");
+        final Path unreadable = directory.resolve("e");
+        final boolean posix = Files.getFileStore(directory).supportsFileAttributeView("posix");
+        if (posix) {
+            Files.setPosixFilePermissions(unreadable, Set.of());
+        }
+
+        final Set<String> files = new TreeSet<>();
+        final Map<String, IOException> failures = new ConcurrentHashMap<>();
+        try {
+            fileManager.forEachFileInTree(directory.toString(), (file, attributes) -> {
+                synchronized (files) {
+                    files.add(relative(file));
+                }
+            }, (subdirectory, e) -> failures.put(relative(subdirectory), e));
+        } finally {
+            if (posix) {
+                Files.setPosixFilePermissions(unreadable, PosixFilePermissions.fromString("rwx------"));
+            }
+        }
+
+        // Permissions don't stop superuser
+        final boolean readable = !posix || files.contains("e/scan.pdf");
+        assertEquals(readable ? Set.of("a/b") : Set.of("a/b", "e"), failures.keySet());
+        assertTrue(failures.get("a/b").getMessage().startsWith("Invalid rule"));
+        final Set<String> expected = new TreeSet<>(Set.of("photo.jpg", "a/report.pdf", "d/note.txt"));
+        if (readable) {
+            expected.add("e/scan.pdf");
+        }
+        assertEquals(expected, files);
+    }
+
+    private Set<String> filesOf(final String subdirectory) throws IOException {
+        final Set<String> files = new TreeSet<>();
+        fileManager.forEachFile(directory.resolve(subdirectory).toString(),
+            (file, attributes) -> files.add(relative(file)));
+        return files;
+    }
+
+    private void createFiles(final String... paths) throws IOException {
+        for (final String path : paths) {
+            final Path file = directory.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, path);
+        }
+    }
+
+    private String relative(final Path file) {
+        return directory.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
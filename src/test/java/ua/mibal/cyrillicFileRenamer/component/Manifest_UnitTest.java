@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Manifest_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Order(1)
+    void load_should_return_empty_manifest_if_file_does_not_exist() throws IOException {
+        final Manifest manifest = Manifest.load(directory.resolve("manifest"));
+
+        assertNull(manifest.previousName("photo.jpg"));
+    }
+
+    @Test
+    @Order(2)
+    void load_should_return_saved_entries_and_keep_only_unchanged_files() throws IOException {
+        final Path photo = Files.writeString(directory.resolve("photo.jpg"), "photo");
+        final Path report = Files.writeString(directory.resolve("report.pdf"), "report");
+        final Manifest first = Manifest.empty();
+        first.record("a/photo.jpg", attributesOf(photo), "a/foto.jpg");
+        first.record("report.pdf", attributesOf(report), "zvit.pdf");
+        first.save(directory.resolve("manifest"));
+
+        Files.setLastModifiedTime(report, FileTime.fromMillis(0));
+        final Manifest second = Manifest.load(directory.resolve("manifest"));
+
+        assertEquals("a/foto.jpg", second.previousName("a/photo.jpg"));
+        assertEquals("zvit.pdf", second.previousName("report.pdf"));
+        assertTrue(second.keepIfUnchanged("a/photo.jpg", attributesOf(photo)));
+        assertFalse(second.keepIfUnchanged("report.pdf", attributesOf(report)));
+        assertFalse(second.keepIfUnchanged("a/photo.jpg", null));
+        assertFalse(second.keepIfUnchanged("photo.jpg", attributesOf(photo)));
+
+        second.save(directory.resolve("manifest"));
+        final Manifest third = Manifest.load(directory.resolve("manifest"));
+        assertEquals("a/foto.jpg", third.previousName("a/photo.jpg"));
+        assertNull(third.previousName("report.pdf"));
+    }
+
+    @Test
+    @Order(3)
+    void load_should_fail_on_file_of_other_format_or_truncated_manifest() throws IOException {
+        final Path photo = Files.writeString(directory.resolve("photo.jpg"), "photo");
+        final Manifest manifest = Manifest.empty();
+        manifest.record("photo.jpg", attributesOf(photo), "foto.jpg");
+        manifest.save(directory.resolve("manifest"));
+        final byte[] bytes = Files.readAllBytes(directory.resolve("manifest"));
+        Files.write(directory.resolve("truncated"), Arrays.copyOf(bytes, bytes.length - 3));
+        Files.writeString(directory.resolve("other"), "not a manifest");
+
+        assertThrows(IOException.class, () -> Manifest.load(directory.resolve("truncated")));
+        assertThrows(IOException.class, () -> Manifest.load(directory.resolve("other")));
+    }
+
+    private static BasicFileAttributes attributesOf(final Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NameFilter_UnitTest {
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({
+        "Thumbs.db,             Thumbs.db,      true",
+        "Thumbs.db,             Thumbs.db.bak,  false",
+        "*.tmp,                 Фото.tmp,       true",
+        "*.tmp,                 tmp.jpg,        false",
+        "IMG*,                  IMG_0001.jpg,   true",
+        "IMG*,                  old_IMG.jpg,    false",
+        "*renamed*,             my_renamed.txt, true",
+        "*renamed*,             rename.txt,     false",
+        "IMG_????.jpg,          IMG_0001.jpg,   true",
+        "IMG_????.jpg,          IMG_01.jpg,     false",
+        "[!a-c]*.txt,           d.txt,          true",
+        "[!a-c]*.txt,           a.txt,          false",
+        "re:\\d+\\.log,         2023.log,       true",
+        "re:\\d+\\.log,         app.log,        false",
+        "\\*.txt,               *.txt,          true",
+        "\\*.txt,               a.txt,          false",
+        "*,                     any,            true",
+    })
+    void isIgnored_should_match_name_by_rule(final String rule, final String name, final boolean expected) {
+        final NameFilter filter = NameFilter.compile(List.of(rule));
+
+        assertEquals(expected, filter.isIgnored("a/b", name, false));
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @CsvSource({
+        "photos/*.jpg,  '',     photos,     x.jpg,  true",
+        "photos/*.jpg,  '',     a/photos,   x.jpg,  false",
+        "/photos/*.jpg, '',     photos,     x.jpg,  true",
+        "**/cache,      '',     a/b,        cache,  true",
+        "**/cache,      '',     '',         cache,  true",
+        "photos/**,     '',     photos/a/b, x.jpg,  true",
+        "re:a/.+\\.pdf, '',     a,          x.pdf,  true",
+        "b/*.jpg,       a,      a/b,        x.jpg,  true",
+        "b/*.jpg,       a,      b,          x.jpg,  false",
+    })
+    void isIgnored_should_match_path_relative_to_directory_of_rule(final String rule, final String ruleDirectory,
+                                                                    final String directory, final String name,
+                                                                    final boolean expected) {
+        final NameFilter filter = NameFilter.compile(List.of()).withRules(List.of(rule), ruleDirectory);
+
+        assertEquals(expected, filter.isIgnored(directory, name, false));
+    }
+
+    @Test
+    @Order(3)
+    void isIgnored_should_apply_the_last_matching_rule() {
+        final NameFilter filter = NameFilter.compile(List.of(
+            "# comment", "", ".*", "*.jpg", "!keep*", "keep_no.jpg", "!.profile", "!re:\\d+\\.jpg"
+        ));
+
+        assertTrue(filter.isIgnored("", ".hidden", false));
+        assertFalse(filter.isIgnored("", ".profile", false));
+        assertTrue(filter.isIgnored("", "photo.jpg", false));
+        assertFalse(filter.isIgnored("", "keep_yes.jpg", false));
+        assertTrue(filter.isIgnored("", "keep_no.jpg", false));
+        assertFalse(filter.isIgnored("", "2023.jpg", false));
+        assertFalse(filter.isIgnored("", "# comment", false));
+        assertFalse(filter.isIgnored("", "report.pdf", false));
+    }
+
+    @Test
+    @Order(4)
+    void isIgnored_should_match_rules_with_slash_at_the_end_only_for_directories() {
+        final NameFilter filter = NameFilter.compile(List.of("cache/", "*.d/", "*.log", "!important.log/"));
+
+        assertTrue(filter.isIgnored("", "cache", true));
+        assertFalse(filter.isIgnored("", "cache", false));
+        assertTrue(filter.isIgnored("", "conf.d", true));
+        assertFalse(filter.isIgnored("", "conf.d", false));
+        assertTrue(filter.isIgnored("", "important.log", false));
+        assertFalse(filter.isIgnored("", "important.log", true));
+    }
+
+    @Test
+    @Order(5)
+    void isIgnored_should_find_every_literal_of_many_rules_in_one_name() {
+        final NameFilter filter = NameFilter.compile(List.of(
+            "*she*", "*he*", "*hers*", "*his*", "!*ers*", "his*", "*is"
+        ));
+
+        assertTrue(filter.isIgnored("", "ushe", false));
+        assertFalse(filter.isIgnored("", "ushers", false));
+        assertTrue(filter.isIgnored("", "ahis", false));
+        assertTrue(filter.isIgnored("", "hisers", false));
+        assertFalse(filter.isIgnored("", "hi", false));
+    }
+
+    @Test
+    @Order(6)
+    void compile_should_fail_on_invalid_regular_expression() {
+        assertThrows(IllegalArgumentException.class, () -> NameFilter.compile(List.of("re:[a-")));
+    }
+
+    @Test
+    @Order(7)
+    void isIgnored_should_scan_a_few_literal_rules_the_same_way_as_other_rules_are_matched() {
+        final List<String> rules = List.of(".*", "*renamedToLatin*", "*.tmp", "IMG*", "Thumbs.db");
+        final NameFilter scanned = NameFilter.compile(rules);
+        // Pattern rule that matches nothing turns scan off
+        final NameFilter matched = NameFilter.compile(rules).withRules(List.of("re:$^"), "");
+
+        for (final String name : List.of(".profile", "my_renamedToLatin", "Фото.tmp", "IMG_0001.jpg",
+            "Thumbs.db", "Thumbs.db.bak", "tmp.jpg", "old_IMG.jpg", "Фото.jpg")) {
+            assertEquals(matched.isIgnored("", name, false), scanned.isIgnored("", name, false), name);
+        }
+        assertTrue(scanned.isIgnored("", "Фото.tmp", false));
+        assertFalse(scanned.isIgnored("", "Фото.jpg", false));
+    }
+
+    @Test
+    @Order(8)
+    void hasDirectoryRules_should_be_true_only_with_rules_with_slash_at_the_end() {
+        assertFalse(NameFilter.compile(List.of("*.tmp", "photos/**")).hasDirectoryRules());
+        assertTrue(NameFilter.compile(List.of("*.tmp", "cache/")).hasDirectoryRules());
+    }
+}
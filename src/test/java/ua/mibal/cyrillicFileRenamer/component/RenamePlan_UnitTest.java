@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RenamePlan_UnitTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Order(1)
+    void open_should_read_renames_written_by_writer_with_escaped_names() throws IOException {
+        final Path file = directory.resolve("plan.tsv");
+        try (final RenamePlan.Writer writer = RenamePlan.create(file, "/root\tdir", TransferMode.LINK)) {
+            writer.rename("a/photo.jpg", "a/foto.jpg", 10);
+            writer.rename("tab\there\\.txt", "new\nline.txt", 5);
+            writer.problem("latin.txt", new FileAlreadyExistsException("latin.txt"));
+        }
+
+        final List<String> renames = new ArrayList<>();
+        try (final RenamePlan.Reader reader = RenamePlan.open(file)) {
+            assertEquals("/root\tdir", reader.getRoot());
+            assertEquals(TransferMode.LINK, reader.getTransferMode());
+            reader.forEachRename((sourceFile, oldName, newName, size) -> renames.add(oldName + " -> " + newName));
+        }
+
+        assertEquals(List.of("a/photo.jpg -> a/foto.jpg", "tab\there\\.txt -> new\nline.txt"), renames);
+        assertTrue(Files.readAllLines(file).contains("total\t2\t15\t1\t0"));
+    }
+
+    @Test
+    @Order(2)
+    void writer_should_count_collisions() throws IOException {
+        final Path file = directory.resolve("plan.tsv");
+        try (final RenamePlan.Writer writer = RenamePlan.create(file, "/root", TransferMode.COPY)) {
+            writer.rename("Віз.txt", "Viz.txt", 1);
+            writer.collision("Вїз.txt", "Viz.txt");
+            writer.rename("Вїз.txt", "Viz_2.txt", 1);
+
+            assertEquals(1, writer.getCollisions());
+        }
+
+        assertTrue(Files.readAllLines(file).contains("collision\tВїз.txt\tViz.txt"));
+        assertTrue(Files.readAllLines(file).contains("total\t2\t2\t0\t1"));
+    }
+
+    @Test
+    @Order(3)
+    void open_should_fail_on_file_that_is_not_a_plan_or_broken_rename() throws IOException {
+        Files.writeString(directory.resolve("names.txt"), "Фото.jpg\n");
+        Files.writeString(directory.resolve("broken.tsv"),
+            "# cyrillic-file-renamer plan\nroot\t/root\nmode\tCOPY\nrename\t1\n");
+        Files.writeString(directory.resolve("mode.tsv"), "# cyrillic-file-renamer plan\nroot\t/root\nmode\tZIP\n");
+
+        assertThrows(IOException.class, () -> RenamePlan.open(directory.resolve("names.txt")));
+        assertThrows(IOException.class, () -> RenamePlan.open(directory.resolve("mode.tsv")));
+        try (final RenamePlan.Reader reader = RenamePlan.open(directory.resolve("broken.tsv"))) {
+            assertThrows(UncheckedIOException.class,
+                () -> reader.forEachRename((sourceFile, oldName, newName, size) -> {
+                }));
+        }
+    }
+}
@@ -34,10 +34,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import ua.mibal.cyrillicFileRenamer.component.FileManager;
+import ua.mibal.cyrillicFileRenamer.model.programMode.Concurrency;
 import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import ua.mibal.cyrillicFileRenamer.model.programMode.TransferMode;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import java.util.List;
 
 /**
  * @author Mykhailo Balakhon
@@ -109,4 +113,147 @@ public class ConsoleArgumentParser_UnitTest {
         assertEquals(expectedStandard, argumentParser.getLetterStandard().name());
     }
 
+    @ParameterizedTest
+    @Order(6)
+    @CsvSource({"--cache,1000,path,1000,path", "path,--CACHE,5,5,path", "path,official,path,0,path"})
+    void parse_should_configure_word_cache_size(final String arg1, final String arg2, final String arg3,
+                                                final int expectedSize, final String expectedPath) {
+        argumentParser.parse(new String[] {arg1, arg2, arg3});
+        assertEquals(expectedSize, argumentParser.getWordCacheSize());
+        assertEquals(expectedPath, argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(7)
+    @ValueSource(strings = {"0", "-1", "many"})
+    void parse_should_reject_incorrect_word_cache_size(final String size) {
+        assertThrows(IllegalArgumentException.class,
+            () -> argumentParser.parse(new String[] {"--cache", size}));
+    }
+
+    @ParameterizedTest
+    @Order(8)
+    @CsvSource({"--names,names.txt,--out,latin.txt,latin.txt", "--names,names.txt,official,,"})
+    void parse_should_configure_name_list_mode(final String arg1, final String arg2, final String arg3,
+                                               final String arg4, final String expectedOutput) {
+        final String[] args = arg4 == null ? new String[] {arg1, arg2, arg3} : new String[] {arg1, arg2, arg3, arg4};
+        argumentParser.parse(args);
+        assertEquals("names.txt", argumentParser.getNamesFile());
+        assertEquals(expectedOutput, argumentParser.getOutputFile());
+        assertEquals(null, argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(9)
+    @CsvSource({
+        "--threads,8,path,THREADS,8,path",
+        "path,--in-flight,1000,THREAD_PER_FILE,1000,path",
+        "--threads,auto,path,ADAPTIVE,64,path",
+        "path,official,path,THREADS,1,path"})
+    void parse_should_configure_concurrency(final String arg1, final String arg2, final String arg3,
+                                            final Concurrency.Mode expectedMode, final int expectedLimit,
+                                            final String expectedPath) {
+        argumentParser.parse(new String[] {arg1, arg2, arg3});
+        assertEquals(expectedMode, argumentParser.getConcurrency().getMode());
+        assertEquals(expectedLimit, argumentParser.getConcurrency().getLimit());
+        assertEquals(expectedPath, argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(10)
+    @CsvSource({"--recursive,path,true", "path,official,false"})
+    void parse_should_configure_recursive_mode(final String arg1, final String arg2, final boolean expected) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expected, argumentParser.isRecursive());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(11)
+    @CsvSource({"--in-place,path,MOVE", "path,--link,LINK", "path,--recursive,COPY"})
+    void parse_should_configure_transfer_mode(final String arg1, final String arg2, final TransferMode expected) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expected, argumentParser.getTransferMode());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(12)
+    @CsvSource({"--copy-chunk,64M,67108864,262144", "--copy-buffer,1m,8388608,1048576", "--copy-chunk,0,0,262144"})
+    void parse_should_configure_copy_sizes(final String option, final String value,
+                                           final int expectedChunk, final int expectedBuffer) {
+        argumentParser.parse(new String[] {option, value, "path"});
+        assertEquals(expectedChunk, argumentParser.getCopyChunkSize());
+        assertEquals(expectedBuffer, argumentParser.getCopyBufferSize());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(13)
+    @CsvSource({"--copy-chunk,8X", "--copy-chunk,-1K", "--copy-chunk,4G", "--copy-buffer,0"})
+    void parse_should_reject_illegal_copy_sizes(final String option, final String value) {
+        assertThrows(IllegalArgumentException.class, () -> argumentParser.parse(new String[] {option, value}));
+    }
+
+    @ParameterizedTest
+    @Order(14)
+    @CsvSource({"--incremental,path,true", "path,--link,false"})
+    void parse_should_configure_incremental_mode(final String arg1, final String arg2, final boolean expected) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expected, argumentParser.isIncremental());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(15)
+    @CsvSource({"--plan,plan.tsv,plan.tsv,", "--apply,plan.tsv,,plan.tsv"})
+    void parse_should_configure_plan_files(final String option, final String value,
+                                           final String expectedPlan, final String expectedAppliedPlan) {
+        argumentParser.parse(new String[] {option, value, "path"});
+        assertEquals(expectedPlan, argumentParser.getPlanFile());
+        assertEquals(expectedAppliedPlan, argumentParser.getAppliedPlanFile());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(16)
+    @CsvSource({"--ignore-case,path,true", "path,--in-place,false"})
+    void parse_should_configure_ignore_case(final String arg1, final String arg2, final boolean expected) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expected, argumentParser.isIgnoreCase());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @ParameterizedTest
+    @Order(17)
+    @CsvSource({"--resume,path,true,false", "--rollback,path,false,true", "path,--in-place,false,false"})
+    void parse_should_configure_resume_and_rollback(final String arg1, final String arg2,
+                                                    final boolean expectedResume, final boolean expectedRollback) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expectedResume, argumentParser.isResume());
+        assertEquals(expectedRollback, argumentParser.isRollback());
+        assertEquals("path", argumentParser.getPath());
+    }
+
+    @Test
+    @Order(18)
+    void parse_should_collect_rules_of_ignored_files_in_order_and_reject_invalid_ones() {
+        argumentParser.parse(new String[] {
+            "--exclude", "*.tmp", "path", "--include", "keep.tmp", "--exclude", "re:\\d+"
+        });
+        assertEquals(List.of("*.tmp", "!keep.tmp", "re:\\d+"), argumentParser.getFilterRules());
+        assertEquals("path", argumentParser.getPath());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new ConsoleArgumentParser(fileManager).parse(new String[] {"--exclude", "re:[a-"}));
+    }
+
+    @ParameterizedTest
+    @Order(19)
+    @CsvSource({"--dedup,path,true", "path,--link,false"})
+    void parse_should_configure_deduplication(final String arg1, final String arg2, final boolean expected) {
+        argumentParser.parse(new String[] {arg1, arg2});
+        assertEquals(expected, argumentParser.isDedup());
+        assertEquals("path", argumentParser.getPath());
+    }
 }
@@ -22,12 +22,17 @@ import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status.TRANSLATED;
+import static ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status.UNCHANGED;
+import java.io.IOException;
+import java.nio.CharBuffer;
 
 /**
  * @author Mykhailo Balakhon
@@ -76,4 +81,16 @@ class ExtendedLetterTranslator_UnitTest {
     void translateWord_should_throw_IllegalLanguageException_if_unsupported_lang(final String letter) {
         assertThrows(IllegalLanguageException.class, () -> translator.translateWord(letter));
     }
+
+    @Test
+    @Order(3)
+    void translate_should_append_range_of_char_sequence() throws IOException {
+        final CharBuffer names = CharBuffer.wrap("Фото.jpg|Сім'я - Київ.png|photo.jpg");
+        final StringBuilder out = new StringBuilder("> ");
+
+        assertEquals(TRANSLATED, translator.translate(names, 9, 25, out));
+        assertEquals(UNCHANGED, translator.translate(names, 26, 35, out));
+        assertEquals(TRANSLATED, translator.translate(names, 0, 8, out));
+        assertEquals("> Simya - Kyyiv.pngFoto.jpg", out.toString());
+    }
 }
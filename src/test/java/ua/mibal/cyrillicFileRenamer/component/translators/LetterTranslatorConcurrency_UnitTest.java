@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status.UNSUPPORTED;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hammers shared translators from many threads and compares results
+ * with single-threaded translation.
+ *
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LetterTranslatorConcurrency_UnitTest {
+
+    private final static int THREADS = 8;
+
+    private final static int ROUNDS = 4;
+
+    private final static String LETTERS = "абвгґдеєжзиіїйклмнопрстуфхцчшщьюяАБВГҐДЕЄЖЗИІЇЙЮЯ'ёъ";
+
+    private final static String OTHERS = "abcXYZ019 -_.";
+
+    private static String[] names;
+
+    @BeforeAll
+    static void beforeAll() {
+        final Random random = new Random(42);
+        names = new String[1_000];
+        for (int i = 0; i < names.length; i++) {
+            final StringBuilder name = new StringBuilder();
+            final int length = 1 + random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                final String letters = random.nextInt(3) == 0 ? OTHERS : LETTERS;
+                name.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            names[i] = name.append(".jpg").toString();
+        }
+    }
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({"OFFICIAL,0", "EXTENDED,0", "OFFICIAL,64", "EXTENDED,64"})
+    void tryTranslate_should_return_same_results_from_many_threads(final LetterStandard standard,
+                                                                   final int cacheSize)
+        throws Exception {
+        final AbstractLetterTranslator translator = translatorOf(standard, cacheSize);
+        final TranslationResult[] expected = translateSequentially(standard.getLetterTranslator());
+
+        final List<Integer> mismatches = hammer(thread -> {
+            int mismatch = -1;
+            for (int round = 0; round < ROUNDS; round++) {
+                // Threads go through names in different order to mix short and long names
+                for (int k = 0; k < names.length; k++) {
+                    final int i = (k * (thread * 2 + 1) + round) % names.length;
+                    if (!sameResult(expected[i], translator.tryTranslate(names[i]))) {
+                        mismatch = i;
+                    }
+                }
+            }
+            return mismatch;
+        });
+        assertEquals(List.of(), mismatches);
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @CsvSource({"OFFICIAL", "EXTENDED"})
+    void translate_to_appendable_should_return_same_results_from_many_threads(final LetterStandard standard)
+        throws Exception {
+        final AbstractLetterTranslator translator = standard.getLetterTranslator();
+        final TranslationResult[] expected = translateSequentially(translator);
+
+        final List<Integer> mismatches = hammer(thread -> {
+            final StringBuilder out = new StringBuilder();
+            int mismatch = -1;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = thread % 2 == 0 ? 0 : names.length - 1; i >= 0 && i < names.length;
+                     i += thread % 2 == 0 ? 1 : -1) {
+                    out.setLength(0);
+                    final TranslationResult.Status status = translator.translate(names[i], 0, names[i].length(), out);
+                    if (status != expected[i].getStatus() ||
+                        (expected[i].isTranslated() && !expected[i].getName().contentEquals(out))) {
+                        mismatch = i;
+                    }
+                }
+            }
+            return mismatch;
+        });
+        assertEquals(List.of(), mismatches);
+    }
+
+    private static AbstractLetterTranslator translatorOf(final LetterStandard standard, final int cacheSize) {
+        final AbstractLetterTranslator translator = standard.getLetterTranslator();
+        return cacheSize == 0 ? translator : translator.withWordCache(cacheSize);
+    }
+
+    private static TranslationResult[] translateSequentially(final AbstractLetterTranslator translator) {
+        final TranslationResult[] results = new TranslationResult[names.length];
+        for (int i = 0; i < names.length; i++) {
+            results[i] = translator.tryTranslate(names[i]);
+        }
+        return results;
+    }
+
+    private static boolean sameResult(final TranslationResult expected, final TranslationResult actual) {
+        if (expected.getStatus() != actual.getStatus() || !expected.getName().equals(actual.getName())) {
+            return false;
+        }
+        return expected.getStatus() != UNSUPPORTED || expected.getUnsupportedLetter() == actual.getUnsupportedLetter();
+    }
+
+    /**
+     * Starts all workers at once.
+     *
+     * @return indexes of names translated differently by any worker
+     */
+    private static List<Integer> hammer(final Worker worker) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int id = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.run(id);
+                }));
+            }
+            start.countDown();
+            final List<Integer> mismatches = new ArrayList<>();
+            for (final Future<Integer> future : futures) {
+                final int mismatch = future.get(1, TimeUnit.MINUTES);
+                if (mismatch != -1) {
+                    mismatches.add(mismatch);
+                }
+            }
+            return mismatches;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+
+        int run(int thread) throws Exception;
+    }
+}
@@ -22,12 +22,19 @@ import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
 import ua.mibal.cyrillicFileRenamer.model.exceptions.IllegalLanguageException;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ua.mibal.cyrillicFileRenamer.model.TranslationResult.Status.UNCHANGED;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Mykhailo Balakhon
@@ -71,4 +78,64 @@ class OfficialLetterTranslator_UnitTest {
     void translateWord_should_throw_IllegalLanguageException_if_unsupported_lang(final String letter) {
         assertThrows(IllegalLanguageException.class, () -> translator.translateWord(letter));
     }
+
+    @ParameterizedTest
+    @Order(3)
+    @CsvSource({
+        "Фото.jpg,TRANSLATED,Foto.jpg",
+        "Звіт про роботу.pdf,TRANSLATED,Zvit pro robotu.pdf",
+        "photo.jpg,UNCHANGED,photo.jpg",
+        "файл.тхт,TRANSLATED,fail.тхт",
+        "Объём.txt,UNSUPPORTED,Объём.txt"
+    })
+    void tryTranslate_should_return_result_instead_of_throwing(final String arg,
+                                                              final TranslationResult.Status status,
+                                                              final String expectedName) {
+        final TranslationResult result = translator.tryTranslate(arg);
+        assertEquals(status, result.getStatus());
+        assertEquals(expectedName, result.getName());
+    }
+
+    @Test
+    @Order(4)
+    void prescan_should_mark_only_names_that_need_translation() {
+        final String[] names = {
+            "photo.jpg",
+            "Фото.jpg",
+            "Café Ümlaut.png",
+            "ії.txt",
+            "x".repeat(100) + "ф.txt",
+            "Объём.txt",
+            ""
+        };
+        final BitSet marked = translator.prescan(names);
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(translator.tryTranslate(names[i]).getStatus() != UNCHANGED, marked.get(i), names[i]);
+        }
+        assertEquals(3, marked.cardinality());
+    }
+
+    @Test
+    @Order(5)
+    void translateAll_should_return_results_in_order_of_names() {
+        final String[] samples = {"Фото.jpg", "photo.jpg", "Объём.txt", "Звіт про роботу.pdf"};
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            names.add(i + " " + samples[i % samples.length]);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final List<TranslationResult> results;
+        try {
+            results = translator.translateAll(names, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(names.size(), results.size());
+        for (int i = 0; i < names.size(); i++) {
+            final TranslationResult expected = translator.tryTranslate(names.get(i));
+            assertEquals(expected.getStatus(), results.get(i).getStatus());
+            assertEquals(expected.getName(), results.get(i).getName());
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ua.mibal.cyrillicFileRenamer.model.programMode.LetterStandard;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.after;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.end;
+import static ua.mibal.cyrillicFileRenamer.component.translators.LetterRules.Context.initial;
+import java.util.Map;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RuleLetterTranslator_UnitTest {
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({
+        "GOST,Щука и Цыпленок.txt,Shhuka i Cy'plenok.txt",
+        "GOST,Царь.doc,Czar`.doc",
+        "BELARUSIAN,Ёлка Ельня.txt,Yolka Yelnia.txt",
+        "BELARUSIAN,Беларусь Ўзор.png,Bielarus Wzor.png",
+        "BULGARIAN,София България.jpg,Sofia Balgaria.jpg",
+        "BULGARIAN,Щастие Ялта.pdf,Shtastie Yalta.pdf",
+        "ISO9,Щука Ёж.txt,Ŝuka Ëž.txt",
+        "ISO9,Її Ґанок.txt,Ïï G̀anok.txt"})
+    void translate_should_translate_by_standard_rules(final LetterStandard standard,
+                                                      final String name,
+                                                      final String excepted) {
+        assertEquals(excepted, standard.getLetterTranslator().tryTranslate(name).getName());
+    }
+
+    @Test
+    @Order(2)
+    void translate_should_use_rules_of_custom_standard() {
+        final LetterRules rules = LetterRules.builder("Custom")
+            .letters(Map.of("А", "A", "Б", "B", "В", "V"))
+            .rule("А", initial(), "Aa")
+            .rule("В", after("А").and(end()), "W")
+            .build();
+        final RuleLetterTranslator translator = new RuleLetterTranslator(rules);
+
+        assertEquals("Aabvaw-bAW.txt", translator.tryTranslate("Абвав-бАВ.txt").getName());
+    }
+
+    @Test
+    @Order(3)
+    void rule_should_be_defined_for_one_letter() {
+        assertThrows(IllegalArgumentException.class,
+            () -> LetterRules.builder("Custom").rule("АБ", initial(), "AB"));
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @CsvSource({
+        "OFFICIAL,Объём.txt,ъ,Ukrainian official",
+        "BELARUSIAN,Щука.txt,Щ,Belarusian",
+        "BULGARIAN,Ёлка.txt,Ё,Bulgarian"})
+    void exception_should_name_standard_without_letter(final LetterStandard standard,
+                                                       final String name,
+                                                       final String letter,
+                                                       final String standardName) {
+        final Exception exception = standard.getLetterTranslator().tryTranslate(name).toException();
+
+        assertEquals(format("Name has illegal symbol '%s' but standard is %s", letter, standardName),
+            exception.getMessage());
+    }
+}
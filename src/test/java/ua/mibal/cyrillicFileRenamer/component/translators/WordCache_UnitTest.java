@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023. http://t.me/mibal_ua
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package ua.mibal.cyrillicFileRenamer.component.translators;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ua.mibal.cyrillicFileRenamer.model.TranslationResult;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author Mykhailo Balakhon
+ * @link t.me/mibal_ua
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WordCache_UnitTest {
+
+    @Test
+    @Order(1)
+    void get_should_find_word_by_content_of_range() {
+        final WordCache cache = new WordCache(10);
+        put(cache, "Фото_", "Foto_");
+
+        assertArrayEquals("Foto_".toCharArray(), cache.get("Моє Фото_1", 4, 9));
+        assertNull(cache.get("Фото-", 0, 5));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @Order(2)
+    void put_should_evict_least_recently_used_word() {
+        final WordCache cache = new WordCache(2);
+        put(cache, "Фото", "Foto");
+        put(cache, "Звіт", "Zvit");
+        cache.get("Фото", 0, 4);
+        put(cache, "Рахунок", "Rakhunok");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get("Звіт", 0, 4));
+        assertArrayEquals("Foto".toCharArray(), cache.get("Фото", 0, 4));
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @ValueSource(strings = {
+        "Фото Фото Фото.jpg", "Договір-Договір_договір.pdf", "Сім'я сім'я.png",
+        "ї ї ї Фото.txt", "Фото.Фото.Фото", "Фото ъ.jpg", "Фото.ъ", "photo photo.jpg"
+    })
+    void cached_translator_should_translate_as_uncached(final String name) {
+        for (final AbstractLetterTranslator translator : new AbstractLetterTranslator[] {
+            new OfficialLetterTranslator(), new ExtendedLetterTranslator()
+        }) {
+            final AbstractLetterTranslator cached = translator.withWordCache(4);
+            final TranslationResult expected = translator.tryTranslate(name);
+            for (int i = 0; i < 3; i++) {
+                final TranslationResult actual = cached.tryTranslate(name);
+                assertEquals(expected.getStatus(), actual.getStatus());
+                assertEquals(expected.getName(), actual.getName());
+            }
+        }
+    }
+
+    private static void put(final WordCache cache, final String word, final String translation) {
+        final TranslationBuffer buffer = new TranslationBuffer();
+        buffer.append(translation.toCharArray());
+        cache.put(word, 0, word.length(), buffer, 0);
+    }
+}